@@ -0,0 +1,1086 @@
+package main;
+
+import main.control.ApplicationManager;
+import main.control.DomainEvent;
+import main.control.InternshipManager;
+import main.control.MajorMatcher;
+import main.control.OperationResult;
+import main.control.Page;
+import main.control.ReviewDecision;
+import main.control.SearchIndex;
+import main.data.ApplicationRepository;
+import main.data.Durability;
+import main.data.FileHandler;
+import main.data.IdAllocator;
+import main.data.InternshipCatalog;
+import main.data.InternshipRepository;
+import main.data.WriteBehindFlusher;
+import main.entity.Application;
+import main.entity.CareerCenterStaff;
+import main.entity.FilterSettings;
+import main.entity.Internship;
+import main.entity.SlotLedger;
+import main.entity.Student;
+import main.entity.enums.ApplicationStatus;
+import main.entity.enums.InternshipLevel;
+import main.entity.enums.InternshipStatus;
+import main.util.EventBus;
+import main.util.StripedLock;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Collator;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmark - Console driver for performance checks
+ *
+ * Like Test, this is run by hand rather than by a test runner:
+ *   java main.Benchmark              (all sections)
+ *   java main.Benchmark durability   (selected sections)
+ *
+ * Sections: durability, slots, locks, catalog, versions, events, bulk, review, majors, eligibility, search, paging, sorted, http
+ *
+ * "http" load-tests a running server (java main.InternshipPlacementSystem --server)
+ * at -Dips.http.url (default http://localhost:8080), so it only runs when named.
+ *
+ * Every section works in a temp directory and leaves data/ untouched.
+ */
+public class Benchmark {
+
+    private static List<String> sections;
+
+    public static void main(String[] args) throws Exception {
+        sections = Arrays.asList(args);
+
+        System.out.println("====================================");
+        System.out.println(" Internship Placement System Benchmarks");
+        System.out.println("====================================\n");
+
+        if (selected("durability")) benchmarkDurability();
+        if (selected("slots")) stressSlotLedger();
+        if (selected("locks")) benchmarkStudentLocks();
+        if (selected("catalog")) stressCatalogReads();
+        if (selected("versions")) stressOptimisticReviews();
+        if (selected("events")) benchmarkEventBus();
+        if (selected("bulk")) benchmarkBulkApproval();
+        if (selected("review")) benchmarkBatchReview();
+        if (selected("majors")) benchmarkMajorMatching();
+        if (selected("eligibility")) benchmarkEligibility();
+        if (selected("search")) benchmarkSearch();
+        if (selected("paging")) benchmarkPaging();
+        if (selected("sorted")) benchmarkSortedViews();
+        if (sections.contains("http")) benchmarkHttpReads();
+    }
+
+    private static boolean selected(String section) {
+        return sections.isEmpty() || sections.contains(section);
+    }
+
+    // ================================================================
+    // File write durability levels
+    // ================================================================
+
+    private static void benchmarkDurability() throws IOException {
+        System.out.println("--- Durability: full CSV rewrite vs single-record append ---");
+        Path dir = Files.createTempDirectory("ips-bench");
+
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            rows.add(new String[]{"APP" + i, "U" + i, "Student " + i, "Computer Science", "3",
+                    "INT" + (i % 50), "2025-01-01", "PENDING"});
+        }
+
+        Durability original = FileHandler.getDurability();
+        try {
+            for (Durability level : Durability.values()) {
+                FileHandler.setDurability(level);
+                String csv = dir.resolve("rewrite-" + level + ".csv").toString();
+                String journal = dir.resolve("append-" + level + ".journal").toString();
+
+                int rewrites = 50;
+                long start = System.nanoTime();
+                for (int i = 0; i < rewrites; i++) FileHandler.writeCSV(csv, rows, "header");
+                long rewriteNs = (System.nanoTime() - start) / rewrites;
+
+                int appends = 500;
+                FileHandler.appendToCSV(journal, rows.get(0)); // create the file outside the timed loop
+                start = System.nanoTime();
+                for (int i = 0; i < appends; i++) FileHandler.appendToCSV(journal, rows.get(i));
+                long appendNs = (System.nanoTime() - start) / appends;
+
+                System.out.printf("%-6s rewrite 1000 rows: %8.1f us/op | append 1 row: %7.1f us/op%n",
+                        level, rewriteNs / 1000.0, appendNs / 1000.0);
+            }
+        } finally {
+            FileHandler.setDurability(original);
+        }
+        System.out.println();
+    }
+
+    // ================================================================
+    // Slot ledger under contention
+    // ================================================================
+
+    /**
+     * Thousands of threads race to reserve a few slots, then to confirm or release
+     * what they got. Fails (exit code 1) if more placements are confirmed than
+     * the internship has slots.
+     */
+    private static void stressSlotLedger() throws Exception {
+        System.out.println("--- Slot ledger: 2000 threads racing for 10 slots ---");
+        int threads = 2000, slots = 10, rounds = 20;
+        boolean ok = true;
+
+        for (int round = 0; round < rounds; round++) {
+            Internship internship = new Internship("INT" + round, "Stress", "", InternshipLevel.BASIC,
+                    "Computer Science", "2025-01-01", "2025-12-31", "Bench", "REP1", slots);
+            AtomicInteger reservedOk = new AtomicInteger();
+            AtomicInteger confirmedOk = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+
+            List<Thread> workers = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                boolean decline = t % 3 == 0; // some offers are given back, freeing slots for others
+                Thread worker = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    // Retry a few times so released slots get taken again
+                    for (int attempt = 0; attempt < 5; attempt++) {
+                        if (!internship.reserveSlot()) {
+                            Thread.yield();
+                            continue;
+                        }
+                        reservedOk.incrementAndGet();
+                        if (decline) internship.releaseSlot();
+                        else if (internship.confirmSlot()) confirmedOk.incrementAndGet();
+                        return;
+                    }
+                });
+                workers.add(worker);
+                worker.start();
+            }
+
+            start.countDown();
+            for (Thread worker : workers) worker.join();
+
+            SlotLedger ledger = internship.getSlotLedger();
+            boolean roundOk = confirmedOk.get() <= slots
+                    && ledger.getConfirmed() == confirmedOk.get()
+                    && ledger.getReserved() == 0
+                    && internship.getSlotsLeft() == slots - confirmedOk.get();
+            ok &= roundOk;
+            if (!roundOk || round == rounds - 1) {
+                System.out.printf("round %2d: %d reservations, %d confirmed, ledger %s%s%n",
+                        round, reservedOk.get(), confirmedOk.get(), ledger, roundOk ? "" : "  <-- VIOLATION");
+            }
+        }
+
+        System.out.println(ok ? "OK: confirmed placements never exceeded the slot count in " + rounds + " rounds"
+                : "FAILED: slot ledger oversubscribed");
+        System.out.println();
+        if (!ok) System.exit(1);
+    }
+
+    // ================================================================
+    // Per-student striped lock vs one global lock
+    // ================================================================
+
+    private static void benchmarkStudentLocks() throws Exception {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        int studentsPerThread = 250;
+        System.out.printf("--- Student workflows: %d threads x %d students (apply x3, withdraw, approve, accept) ---%n",
+                threads, studentsPerThread);
+
+        Durability original = FileHandler.getDurability();
+        FileHandler.setDurability(Durability.NONE); // measure locking, not the disk
+        try {
+            benchmarkStudentLocks("global lock (1 stripe)", new StripedLock(1), threads, studentsPerThread);
+            benchmarkStudentLocks("striped lock (" + StripedLock.DEFAULT_STRIPES + " stripes)",
+                    new StripedLock(), threads, studentsPerThread);
+        } finally {
+            FileHandler.setDurability(original);
+        }
+        System.out.println();
+    }
+
+    private static void benchmarkStudentLocks(String label, StripedLock locks, int threads, int studentsPerThread)
+            throws Exception {
+        Path dir = Files.createTempDirectory("ips-bench");
+        InternshipRepository internshipRepo = new InternshipRepository(dir.resolve("internships.csv").toString());
+        ApplicationRepository appRepo = new ApplicationRepository(dir.resolve("applications.csv").toString());
+        WriteBehindFlusher flusher = new WriteBehindFlusher();
+        flusher.register(internshipRepo);
+        flusher.register(appRepo);
+
+        String today = LocalDate.now().toString(), nextYear = LocalDate.now().plusYears(1).toString();
+        List<String> internshipIds = new ArrayList<>();
+        for (int k = 0; k < 50; k++) {
+            Internship i = new Internship(String.format("INT%03d", k), "Role " + k, "", InternshipLevel.BASIC,
+                    "Computer Science", today, nextYear, "Bench", "REP1", 1_000_000);
+            i.setStatus(InternshipStatus.APPROVED);
+            i.setVisible(true);
+            internshipRepo.addInternship(i);
+            internshipIds.add(i.getInternshipId());
+        }
+        InternshipManager internshipMgr = new InternshipManager(internshipRepo);
+        ApplicationManager appMgr = new ApplicationManager(appRepo, internshipMgr, locks, new IdAllocator());
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        AtomicInteger ops = new AtomicInteger();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int n = 0; n < studentsPerThread; n++) {
+                    Student s = new Student("S", "U" + thread + "_" + n, "s@x", "pw", 3, "Computer Science");
+                    for (int k = 0; k < 3; k++) {
+                        appMgr.applyForInternship(s, internshipIds.get((thread * 7 + n + k * 13) % internshipIds.size()));
+                    }
+                    List<Application> mine = appMgr.getMyApplications(s.getUserId());
+                    appMgr.withdrawApplication(s, mine.get(0).getApplicationId());
+                    appMgr.approveApplication(mine.get(1));
+                    appMgr.acceptOffer(s, mine.get(1).getApplicationId());
+                    ops.addAndGet(6);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream())); // the managers print per operation
+        long begin = System.nanoTime();
+        try {
+            start.countDown();
+            for (Thread worker : workers) worker.join();
+        } finally {
+            System.setOut(console);
+        }
+        long elapsed = System.nanoTime() - begin;
+        flusher.shutdown();
+
+        long accepted = appRepo.getApplicationsByStatus(ApplicationStatus.ACCEPTED).size();
+        System.out.printf("%-28s %8.0f ops/s  (%d ops in %d ms, %d offers accepted)%n",
+                label, ops.get() / (elapsed / 1e9), ops.get(), elapsed / 1_000_000, accepted);
+    }
+
+    // ================================================================
+    // Catalog reads during writes
+    // ================================================================
+
+    /**
+     * Readers list and filter internships while a writer keeps editing, approving and
+     * toggling them. Every edit sets title and description to the same number, so a
+     * reader that sees them differ has seen a half-applied edit. Fails (exit code 1)
+     * on a torn read or any exception.
+     */
+    private static void stressCatalogReads() throws Exception {
+        int readers = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        System.out.printf("--- Catalog: %d readers listing while one writer edits ---%n", readers);
+
+        Durability original = FileHandler.getDurability();
+        FileHandler.setDurability(Durability.NONE);
+        Path dir = Files.createTempDirectory("ips-bench");
+        InternshipRepository repo = new InternshipRepository(dir.resolve("internships.csv").toString());
+        WriteBehindFlusher flusher = new WriteBehindFlusher();
+        flusher.register(repo);
+        InternshipManager manager = new InternshipManager(repo);
+
+        String today = LocalDate.now().toString(), nextYear = LocalDate.now().plusYears(1).toString();
+        for (int k = 0; k < 200; k++) {
+            manager.createInternship("REP" + (k / 5), "Bench", "0", "0", InternshipLevel.values()[k % 3],
+                    k % 2 == 0 ? "Computer Science" : "Business", today, nextYear, 5);
+        }
+        List<Internship> all = repo.getAllInternships();
+
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicInteger reads = new AtomicInteger(), writes = new AtomicInteger(), torn = new AtomicInteger();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+        Thread writer = new Thread(() -> {
+            int n = 0;
+            while (!stop.get()) {
+                try {
+                    Internship i = all.get(n % all.size());
+                    Internship current = repo.findById(i.getInternshipId());
+                    String stamp = String.valueOf(++n);
+                    if (current.getStatus() == InternshipStatus.PENDING) {
+                        manager.editInternship(i.getInternshipId(), i.getRepresentativeId(), stamp, stamp,
+                                current.getLevel(), current.getPreferredMajor(), today, nextYear, 5);
+                        if (n % 3 == 0) manager.approveInternship(repo.findById(i.getInternshipId()));
+                    } else {
+                        manager.toggleVisibilityForRep(i.getRepresentativeId(), i.getInternshipId(), n % 2 == 0);
+                    }
+                    writes.incrementAndGet();
+                } catch (Throwable t) {
+                    errors.add(t);
+                }
+            }
+        });
+
+        FilterSettings filters = new FilterSettings();
+        filters.setLevel(InternshipLevel.BASIC);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < readers; t++) {
+            Thread reader = new Thread(() -> {
+                while (!stop.get()) {
+                    try {
+                        for (Internship i : manager.getFilteredInternships(filters)) {
+                            if (!i.getTitle().equals(i.getDescription())) torn.incrementAndGet();
+                        }
+                        for (Internship i : manager.getAllInternships()) {
+                            if (!i.getTitle().equals(i.getDescription())) torn.incrementAndGet();
+                        }
+                        reads.addAndGet(2);
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                }
+            });
+            workers.add(reader);
+        }
+
+        writer.start();
+        workers.forEach(Thread::start);
+        Thread.sleep(3000);
+        stop.set(true);
+        writer.join();
+        for (Thread reader : workers) reader.join();
+        flusher.shutdown();
+        FileHandler.setDurability(original);
+
+        boolean ok = torn.get() == 0 && errors.isEmpty();
+        System.out.printf("%8.0f listings/s, %6.0f writes/s over 3 s, catalog version %d: %s%n%n",
+                reads.get() / 3.0, writes.get() / 3.0, repo.snapshot().version(),
+                ok ? "OK" : "FAILED (" + torn.get() + " torn reads, " + errors.size() + " errors"
+                        + (errors.isEmpty() ? "" : ", first: " + errors.get(0)) + ")");
+        if (!ok) System.exit(1);
+    }
+
+    // ================================================================
+    // Optimistic application reviews
+    // ================================================================
+
+    /**
+     * For every application, a rep approves, another rep rejects and the student asks to
+     * withdraw, all at once and without any shared lock. Exactly one of them may win.
+     * Fails (exit code 1) if an application lost a decision, or if the slots reserved
+     * on the internship differ from the number of successful applications.
+     */
+    private static void stressOptimisticReviews() throws Exception {
+        int applications = 3000, slots = 1000;
+        System.out.printf("--- Versions: approve / reject / withdraw racing on %d applications ---%n", applications);
+
+        Durability original = FileHandler.getDurability();
+        FileHandler.setDurability(Durability.NONE);
+        Path dir = Files.createTempDirectory("ips-bench");
+        InternshipRepository internshipRepo = new InternshipRepository(dir.resolve("internships.csv").toString());
+        ApplicationRepository appRepo = new ApplicationRepository(dir.resolve("applications.csv").toString());
+        WriteBehindFlusher flusher = new WriteBehindFlusher();
+        flusher.register(internshipRepo);
+        flusher.register(appRepo);
+
+        Internship internship = new Internship("INT001", "Race", "", InternshipLevel.BASIC, "Computer Science",
+                LocalDate.now().minusDays(1).toString(), LocalDate.now().plusYears(1).toString(), "Bench", "REP1", slots);
+        internship.setStatus(InternshipStatus.APPROVED);
+        internship.setVisible(true);
+        internshipRepo.addInternship(internship);
+        InternshipManager internshipMgr = new InternshipManager(internshipRepo);
+        ApplicationManager appMgr = new ApplicationManager(appRepo, internshipMgr);
+
+        List<Student> students = new ArrayList<>();
+        for (int n = 0; n < applications; n++) {
+            Student s = new Student("S", "U" + n, "s@x", "pw", 3, "Computer Science");
+            appMgr.applyForInternship(s, "INT001");
+            students.add(s);
+        }
+
+        AtomicInteger wins = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int role = 0; role < 3; role++) {
+            int r = role;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (Student s : students) {
+                    Application a = appMgr.getMyApplications(s.getUserId()).get(0);
+                    OperationResult result = switch (r) {
+                        case 0 -> appMgr.approveApplication(a);
+                        case 1 -> appMgr.rejectApplication(a);
+                        default -> appMgr.withdrawApplication(s, a.getApplicationId());
+                    };
+                    if (result.success()) wins.incrementAndGet();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+        long elapsed = System.nanoTime() - begin;
+        flusher.shutdown();
+        FileHandler.setDurability(original);
+
+        int successful = appRepo.getApplicationsByStatus(ApplicationStatus.SUCCESSFUL).size();
+        int pending = appRepo.getApplicationsByStatus(ApplicationStatus.PENDING).size();
+        SlotLedger ledger = internship.getSlotLedger();
+        boolean ok = wins.get() + pending == applications
+                && ledger.getReserved() == successful
+                && successful <= slots;
+        System.out.printf("%8.0f decisions/s  (%d won, %d successful, %d slots reserved, %d still pending): %s%n%n",
+                3.0 * applications / (elapsed / 1e9), wins.get(), successful, ledger.getReserved(), pending,
+                ok ? "OK" : "FAILED");
+        if (!ok) System.exit(1);
+    }
+
+    // ================================================================
+    // EVENTS: a slow asynchronous subscriber behind a small bounded queue
+    // ================================================================
+
+    private static void benchmarkEventBus() throws Exception {
+        int changes = 3000, queue = 64;
+        System.out.printf("--- Events: %d internship changes, async subscriber taking 50us per event, queue %d ---%n",
+                changes, queue);
+        benchmarkEventBus("no subscriber", changes, queue, false);
+        benchmarkEventBus("slow subscriber", changes, queue, true);
+        System.out.println();
+    }
+
+    private static void benchmarkEventBus(String label, int changes, int queue, boolean subscribe)
+            throws Exception {
+        Durability original = FileHandler.getDurability();
+        FileHandler.setDurability(Durability.NONE);
+        Path dir = Files.createTempDirectory("ips-bench");
+        InternshipRepository internshipRepo = new InternshipRepository(dir.resolve("internships.csv").toString());
+        WriteBehindFlusher flusher = new WriteBehindFlusher();
+        flusher.register(internshipRepo);
+
+        EventBus<DomainEvent> events = new EventBus<>(1, queue);
+        AtomicInteger delivered = new AtomicInteger();
+        AtomicInteger maxBacklog = new AtomicInteger();
+        if (subscribe) {
+            events.subscribeAsync(DomainEvent.InternshipSaved.class, e -> {
+                LockSupport.parkNanos(50_000);
+                delivered.incrementAndGet();
+            });
+        }
+
+        Internship internship = new Internship("INT001", "Events", "", InternshipLevel.BASIC, "Computer Science",
+                LocalDate.now().minusDays(1).toString(), LocalDate.now().plusYears(1).toString(), "Bench", "REP1", 5);
+        internship.setStatus(InternshipStatus.APPROVED);
+        internshipRepo.addInternship(internship);
+        // Its own search index subscribes asynchronously too, so both benchmarks use the worker
+        InternshipManager internshipMgr = new InternshipManager(internshipRepo, new IdAllocator(), events);
+
+        int changed = 0;
+        long begin = System.nanoTime();
+        for (int n = 0; n < changes; n++) {
+            if (internshipMgr.toggleVisibilityForRep("REP1", "INT001", n % 2 == 0).success()) changed++;
+            maxBacklog.accumulateAndGet(events.backlog(), Math::max);
+        }
+        long elapsed = System.nanoTime() - begin;
+        events.shutdown();
+        flusher.shutdown();
+        FileHandler.setDurability(original);
+
+        boolean ok = changed == changes && maxBacklog.get() <= queue
+                && delivered.get() == (subscribe ? changed : 0);
+        System.out.printf("%-16s %8.0f changes/s  (%d delivered, max backlog %d): %s%n",
+                label, changed / (elapsed / 1e9), delivered.get(), maxBacklog.get(), ok ? "OK" : "FAILED");
+        if (!ok) System.exit(1);
+    }
+
+    // ================================================================
+    // BULK APPROVAL: one review per internship vs one commit for all
+    // ================================================================
+
+    private static void benchmarkBulkApproval() throws Exception {
+        int postings = 500;
+        System.out.printf("--- Bulk: approving %d pending internships (no flusher, durability %s) ---%n",
+                postings, FileHandler.getDurability());
+        long single = benchmarkBulkApproval(postings, false);
+        long bulk = benchmarkBulkApproval(postings, true);
+        System.out.printf("one by one: %8.1f ms | bulk: %8.1f ms (%.0fx)%n%n",
+                single / 1e6, bulk / 1e6, (double) single / bulk);
+    }
+
+    private static long benchmarkBulkApproval(int postings, boolean bulk) throws Exception {
+        Path dir = Files.createTempDirectory("ips-bench");
+        InternshipRepository repo = new InternshipRepository(dir.resolve("internships.csv").toString());
+        InternshipManager manager = new InternshipManager(repo);
+        for (int n = 0; n < postings; n++) {
+            manager.createInternship("REP" + n, "Company " + (n % 20), "Posting " + n, "Description",
+                    InternshipLevel.BASIC, "Computer Science", "2025-01-01", "2027-01-01", 3);
+        }
+        List<Internship> pending = manager.getPendingInternships();
+
+        long begin = System.nanoTime();
+        if (bulk) {
+            manager.reviewInternships(pending, InternshipStatus.APPROVED);
+        } else {
+            for (Internship i : pending) manager.approveInternship(i);
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        int approved = repo.findByStatus(InternshipStatus.APPROVED).size();
+        if (approved != postings) {
+            System.out.println("FAILED: " + approved + " of " + postings + " approved");
+            System.exit(1);
+        }
+        return elapsed;
+    }
+
+    // ================================================================
+    // BATCH REVIEW: a rep approving every applicant of one posting
+    // ================================================================
+
+    private static void benchmarkBatchReview() throws Exception {
+        int applicants = 500, slots = 100;
+        System.out.printf("--- Review: approving %d applicants for %d slots (no flusher, durability %s) ---%n",
+                applicants, slots, FileHandler.getDurability());
+        long single = benchmarkBatchReview(applicants, slots, false);
+        long batch = benchmarkBatchReview(applicants, slots, true);
+        System.out.printf("one by one: %8.1f ms | batch: %8.1f ms (%.0fx)%n%n",
+                single / 1e6, batch / 1e6, (double) single / batch);
+    }
+
+    private static long benchmarkBatchReview(int applicants, int slots, boolean batch) throws Exception {
+        Path dir = Files.createTempDirectory("ips-bench");
+        InternshipRepository internshipRepo = new InternshipRepository(dir.resolve("internships.csv").toString());
+        ApplicationRepository appRepo = new ApplicationRepository(dir.resolve("applications.csv").toString());
+        Internship internship = new Internship("INT001", "Popular", "", InternshipLevel.BASIC, "Computer Science",
+                LocalDate.now().minusDays(1).toString(), LocalDate.now().plusYears(1).toString(), "Bench", "REP1", slots);
+        internship.setStatus(InternshipStatus.APPROVED);
+        internship.setVisible(true);
+        internshipRepo.addInternship(internship);
+        InternshipManager internshipMgr = new InternshipManager(internshipRepo);
+        ApplicationManager appMgr = new ApplicationManager(appRepo, internshipMgr);
+        for (int n = 0; n < applicants; n++) {
+            appMgr.applyForInternship(new Student("S", "U" + n, "s@x", "pw", 3, "Computer Science"), "INT001");
+        }
+        List<Application> pending = appMgr.getPendingApplicationsForRep("REP1");
+
+        long begin = System.nanoTime();
+        if (batch) {
+            appMgr.reviewApplications("REP1", pending.stream()
+                    .map(a -> ReviewDecision.approve(a.getApplicationId())).toList());
+        } else {
+            // What the old screen did: approve while slots remain, then reject the rest
+            for (Application a : pending) {
+                if (!appMgr.approveApplication(a).success()) appMgr.rejectApplication(a);
+            }
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        int successful = appRepo.getApplicationsByStatus(ApplicationStatus.SUCCESSFUL).size();
+        int unsuccessful = appRepo.getApplicationsByStatus(ApplicationStatus.UNSUCCESSFUL).size();
+        boolean firstComeFirstServed = pending.get(slots - 1).getStatus() == ApplicationStatus.SUCCESSFUL
+                && pending.get(slots).getStatus() == ApplicationStatus.UNSUCCESSFUL;
+        if (successful != slots || unsuccessful != applicants - slots || !firstComeFirstServed) {
+            System.out.printf("FAILED: %d successful, %d unsuccessful%n", successful, unsuccessful);
+            System.exit(1);
+        }
+        return elapsed;
+    }
+
+    // ================================================================
+    // MAJOR MATCHING: alias scans per call vs precompiled major IDs
+    // ================================================================
+
+    private static final String[] MAJORS = {
+            "Computer Science", "CS", "Computing", "Electrical and Electronic Engineering", "EEE",
+            "Mechanical Engineering", "Data Science & AI", "DSAI", "Computer Engineering", "Chemical Engineering",
+            "Environmental Engineering", "Materials Science", "Business", "Business Analytics", "Economics",
+            "Mathematics", "Physics", "Biology", "Accountancy", "Any", ""
+    };
+
+    /**
+     * Checks the matcher against the original implementation on every pair of sample
+     * majors, then times one student's listing of 1000 internships both ways.
+     */
+    private static void benchmarkMajorMatching() {
+        System.out.println("--- Majors: per-listing cost of majorsMatch, alias scan vs precompiled IDs ---");
+        MajorMatcher matcher = new MajorMatcher();
+        for (String a : MAJORS) {
+            for (String b : MAJORS) {
+                if (matcher.matches(a, b) != legacyMajorsMatch(a, b)) {
+                    System.out.printf("FAILED: '%s' vs '%s' differs from the original rules%n", a, b);
+                    System.exit(1);
+                }
+            }
+        }
+
+        // Majors as the application holds them: one String per internship, repeated values
+        String[] listing = new String[1000];
+        for (int n = 0; n < listing.length; n++) listing[n] = new String(MAJORS[n % MAJORS.length]);
+        String student = "Computer Science";
+
+        int rounds = 2000, matches = 0;
+        for (int warm = 0; warm < 3; warm++) {
+            long begin = System.nanoTime();
+            for (int r = 0; r < rounds; r++) {
+                for (String m : listing) if (legacyMajorsMatch(student, m)) matches++;
+            }
+            long legacy = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            for (int r = 0; r < rounds; r++) {
+                for (String m : listing) if (matcher.matches(student, m)) matches++;
+            }
+            long compiled = System.nanoTime() - begin;
+
+            if (warm == 2) {
+                System.out.printf("alias scan: %8.1f us/listing | precompiled: %6.1f us/listing (%.0fx)  [%d]%n%n",
+                        legacy / 1e3 / rounds, compiled / 1e3 / rounds, (double) legacy / compiled, matches);
+            }
+        }
+    }
+
+    // InternshipManager.majorsMatch before MajorMatcher, kept as the reference
+    private static boolean legacyMajorsMatch(String studentMajor, String internshipMajor) {
+        if (studentMajor == null || internshipMajor == null) return false;
+        String s = studentMajor.trim().toLowerCase();
+        String i = internshipMajor.trim().toLowerCase();
+        for (String[] group : MajorMatcher.DEFAULT_GROUPS) {
+            boolean studentInGroup = false, internshipInGroup = false;
+            for (String alias : group) {
+                if (s.contains(alias)) studentInGroup = true;
+                if (i.contains(alias)) internshipInGroup = true;
+            }
+            if (studentInGroup && internshipInGroup) return true;
+        }
+        return s.contains(i) || i.contains(s);
+    }
+
+    // ================================================================
+    // ELIGIBILITY: a student's listing from a full scan vs the cohort index
+    // ================================================================
+
+    /**
+     * Approves a mixed catalog and shows all but every tenth posting, then checks that the index
+     * gives the same listing as the original scan before timing both.
+     */
+    private static void benchmarkEligibility() throws Exception {
+        int postings = 5000;
+        System.out.printf("--- Eligibility: one student's listing of %d approved internships, scan vs index ---%n",
+                postings);
+        Path dir = Files.createTempDirectory("ips-bench");
+        InternshipRepository repo = new InternshipRepository(dir.resolve("internships.csv").toString());
+        InternshipManager manager = new InternshipManager(repo);
+        InternshipLevel[] levels = InternshipLevel.values();
+        for (int n = 0; n < postings; n++) {
+            manager.createInternship("REP" + n, "Company " + (n % 20), "Posting " + n, "Description",
+                    levels[n % levels.length], MAJORS[n % MAJORS.length], "2025-01-01", "2027-01-01", 3);
+        }
+        Student student = new Student("S", "U1", "s@x", "pw", 2, "Computer Science");
+        FilterSettings none = new FilterSettings();
+        manager.getInternshipsForUser(student, none); // build the cohort, then update it below
+
+        manager.reviewInternships(manager.getPendingInternships(), InternshipStatus.APPROVED);
+        int n = 0;
+        for (Internship i : repo.getAllInternships()) {
+            manager.toggleVisibilityForRep(i.getRepresentativeId(), i.getInternshipId(), n++ % 10 != 0);
+        }
+
+        List<Internship> expected = legacyStudentListing(repo, manager, student);
+        List<Internship> indexed = manager.getInternshipsForUser(student, none);
+        if (!indexed.equals(expected)) {
+            System.out.printf("FAILED: index lists %d internships, the scan %d%n", indexed.size(), expected.size());
+            System.exit(1);
+        }
+
+        int rounds = 500;
+        for (int warm = 0; warm < 3; warm++) {
+            long begin = System.nanoTime();
+            for (int r = 0; r < rounds; r++) legacyStudentListing(repo, manager, student);
+            long scan = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            for (int r = 0; r < rounds; r++) manager.getInternshipsForUser(student, none);
+            long index = System.nanoTime() - begin;
+
+            if (warm == 2) {
+                System.out.printf("full scan: %8.1f us/listing | index: %6.1f us/listing (%.0fx)  [%d listed]%n%n",
+                        scan / 1e3 / rounds, index / 1e3 / rounds, (double) scan / index, indexed.size());
+            }
+        }
+    }
+
+    // The student branch of getInternshipsForUser before EligibilityIndex, kept as the reference
+    private static List<Internship> legacyStudentListing(InternshipRepository repo, InternshipManager manager,
+                                                         Student s) {
+        List<Internship> visibleList = new ArrayList<>();
+        for (Internship i : repo.findByStatus(InternshipStatus.APPROVED)) {
+            boolean visibleOk = i.isVisible() && i.getStatus() == InternshipStatus.APPROVED;
+            boolean majorOk = manager.majorsMatch(s.getMajor(), i.getPreferredMajor());
+            boolean levelOk = (s.getYearOfStudy() <= 2 && i.getLevel() == InternshipLevel.BASIC)
+                    || (s.getYearOfStudy() >= 3);
+            if (visibleOk && majorOk && levelOk && i.hasAvailableSlots()) visibleList.add(i);
+        }
+        visibleList.sort(Comparator.comparing(i -> i.getTitle().toLowerCase())); // the default order
+        return visibleList;
+    }
+
+    // ================================================================
+    // SEARCH: keyword queries over 100k postings, linear scan vs inverted index
+    // ================================================================
+
+    private static final String[] SEARCH_WORDS = {
+            "software", "engineering", "data", "analyst", "python", "java", "cloud", "security",
+            "research", "marketing", "finance", "design", "mobile", "backend", "frontend", "machine",
+            "learning", "robotics", "embedded", "network", "audit", "supply", "chain", "product",
+            "operations", "consulting", "sustainability", "energy", "biotech", "quantum"
+    };
+
+    /**
+     * Indexes 100k generated postings, checks one query's matches against a scan,
+     * then times single and multi-term queries (top 20) both ways.
+     */
+    private static void benchmarkSearch() {
+        int postings = 100_000;
+        System.out.printf("--- Search: keyword queries over %d postings, scan vs inverted index ---%n", postings);
+        Random random = new Random(42);
+        List<Internship> all = new ArrayList<>(postings);
+        for (int n = 0; n < postings; n++) {
+            // 40 words: a few topic words, the rest from a 20k-word vocabulary where
+            // low-numbered words are common and most are rare (roughly Zipf, like real text)
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 40; w++) {
+                if (w % 10 == 0) description.append(SEARCH_WORDS[random.nextInt(SEARCH_WORDS.length)]);
+                else description.append("term").append((int) Math.pow(20000, random.nextDouble()));
+                description.append(' ');
+            }
+            all.add(new Internship(String.format("INT%06d", n),
+                    SEARCH_WORDS[random.nextInt(SEARCH_WORDS.length)] + " Intern " + n,
+                    description.toString(), InternshipLevel.BASIC, "Computer Science",
+                    "2025-01-01", "2027-01-01", "Company " + (n % 500), "REP" + n, 3));
+        }
+        long begin = System.nanoTime();
+        SearchIndex index = new SearchIndex(all);
+        System.out.printf("indexed in %.0f ms%n", (System.nanoTime() - begin) / 1e6);
+        InternshipCatalog catalog = InternshipCatalog.of(all); // hits are resolved by ID, as listings do
+
+        Set<Internship> expected = new HashSet<>();
+        for (Internship i : all) if (scanMatches(i, List.of("quantum", "biotech"))) expected.add(i);
+        Set<Internship> found = new HashSet<>(index.search("Quantum biotech", catalog::findById, i -> true, Integer.MAX_VALUE));
+        if (!found.equals(expected)) {
+            System.out.printf("FAILED: index found %d postings, the scan %d%n", found.size(), expected.size());
+            System.exit(1);
+        }
+
+        String[] queries = {"quantum", "sustainability energy", "software engineering data", "term123 robotics",
+                "term1 term2"};
+        for (String q : queries) {
+            List<String> terms = SearchIndex.tokenize(q);
+            int rounds = 3, matches = 0, listed = 0;
+            long scan = 0, indexed = 0;
+            for (int warm = 0; warm < 2; warm++) {
+                matches = 0;
+                begin = System.nanoTime();
+                for (int r = 0; r < rounds; r++) {
+                    for (Internship i : all) if (scanMatches(i, terms)) matches++;
+                }
+                scan = System.nanoTime() - begin;
+
+                begin = System.nanoTime();
+                for (int r = 0; r < rounds * 100; r++) listed += index.search(q, catalog::findById, i -> true, 20).size();
+                indexed = System.nanoTime() - begin;
+            }
+            System.out.printf("%-28s scan: %8.0f us/query | index (top 20): %7.1f us/query  [%d matches, %d]%n",
+                    "\"" + q + "\"", scan / 1e3 / rounds, indexed / 1e3 / (rounds * 100), matches / rounds, listed);
+        }
+        System.out.println();
+    }
+
+    // What a search without the index does: look for each term in each posting's text
+    private static boolean scanMatches(Internship i, List<String> terms) {
+        List<String> words = SearchIndex.tokenize(i.getTitle() + " " + i.getDescription() + " " + i.getCompanyName());
+        for (String t : terms) {
+            if (words.contains(t)) return true;
+        }
+        return false;
+    }
+
+    // ================================================================
+    // PAGING: staff listing of a large catalog, whole list vs one page at a time
+    // ================================================================
+
+    /**
+     * Pages through 50k internships in every sort order and checks the pages against the
+     * whole listing, then times the whole listing against the first page of 10.
+     */
+    private static void benchmarkPaging() throws Exception {
+        int postings = 50_000, pageSize = 10;
+        System.out.printf("--- Paging: staff listing of %d internships, full sort vs first page of %d ---%n",
+                postings, pageSize);
+        Random random = new Random(7);
+        List<Internship> all = new ArrayList<>(postings);
+        for (int n = 0; n < postings; n++) {
+            all.add(new Internship(String.format("INT%06d", n), SEARCH_WORDS[random.nextInt(SEARCH_WORDS.length)]
+                    + " Intern " + random.nextInt(1000), "Description", InternshipLevel.BASIC, "Computer Science",
+                    String.format("2025-%02d-%02d", 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    String.format("2026-%02d-%02d", 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    "Company " + (n % 500), "REP" + n, 3));
+        }
+        Path dir = Files.createTempDirectory("ips-bench");
+        InternshipRepository repo = new InternshipRepository(dir.resolve("internships.csv").toString(), false, all);
+        InternshipManager manager = new InternshipManager(repo);
+        CareerCenterStaff staff = new CareerCenterStaff("Staff", "STAFF1", "staff@x", "pw", "CCDS");
+
+        for (String sort : new String[]{"title", "closingDate", "openingDate"}) {
+            FilterSettings filters = new FilterSettings();
+            filters.setSortBy(sort);
+            List<Internship> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                Page<Internship> page = manager.getInternshipPage(staff, filters, 1000, cursor);
+                paged.addAll(page.items());
+                cursor = page.nextCursor();
+            } while (cursor != null);
+            if (!paged.equals(manager.getInternshipsForUser(staff, filters))) {
+                System.out.println("FAILED: pages sorted by " + sort + " differ from the whole listing");
+                System.exit(1);
+            }
+        }
+
+        FilterSettings filters = new FilterSettings();
+        int rounds = 20, listed = 0;
+        for (int warm = 0; warm < 3; warm++) {
+            long begin = System.nanoTime();
+            for (int r = 0; r < rounds; r++) listed += manager.getInternshipsForUser(staff, filters).size();
+            long full = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            for (int r = 0; r < rounds; r++) listed += manager.getInternshipPage(staff, filters, pageSize, null).items().size();
+            long page = System.nanoTime() - begin;
+
+            if (warm == 2) {
+                System.out.printf("whole listing: %7.1f ms | first page: %6.2f ms (%.0fx)  [%d]%n%n",
+                        full / 1e6 / rounds, page / 1e6 / rounds, (double) full / page, listed);
+            }
+        }
+    }
+
+    // ================================================================
+    // Sorted views: listings and date ranges without a per-request sort
+    // ================================================================
+
+    /**
+     * Checks the staff listing in every order against the old per-request sort, also after
+     * edits that move internships, and the "closing in the next 7 days" range against a scan.
+     * Then times both old and new ways over 50k internships.
+     */
+    private static void benchmarkSortedViews() throws Exception {
+        int postings = 50_000, edits = 20;
+        System.out.printf("--- Sorted views: %d internships, per-request sort vs sorted view ---%n", postings);
+        Random random = new Random(11);
+        LocalDate today = LocalDate.now();
+        List<Internship> all = new ArrayList<>(postings);
+        for (int n = 0; n < postings; n++) {
+            String title = (random.nextBoolean() ? "" : "senior ")
+                    + SEARCH_WORDS[random.nextInt(SEARCH_WORDS.length)] + " Intern " + random.nextInt(1000);
+            all.add(new Internship(String.format("INT%06d", n), title, "Description", InternshipLevel.BASIC,
+                    "Computer Science", today.minusDays(random.nextInt(60)).toString(),
+                    today.plusDays(random.nextInt(120)).toString(), "Company " + (n % 500), "REP" + n, 3));
+        }
+        Path dir = Files.createTempDirectory("ips-bench");
+        InternshipRepository repo = new InternshipRepository(dir.resolve("internships.csv").toString(), false, all);
+        InternshipManager manager = new InternshipManager(repo);
+        CareerCenterStaff staff = new CareerCenterStaff("Staff", "STAFF1", "staff@x", "pw", "CCDS");
+
+        // Edits change titles and dates, so the views must move those internships
+        for (int e = 0; e < edits; e++) {
+            int n = random.nextInt(postings);
+            Internship i = repo.findById(String.format("INT%06d", n));
+            OperationResult r = manager.editInternship(i.getInternshipId(), "REP" + n, "Aardvark Intern " + e,
+                    i.getDescription(), i.getLevel(), i.getPreferredMajor(), i.getOpeningDate(),
+                    today.plusDays(random.nextInt(10)).toString(), i.getNumSlots());
+            if (!r.success()) {
+                System.out.println("FAILED: edit rejected: " + r.message());
+                System.exit(1);
+            }
+        }
+
+        Collator collator = Collator.getInstance(Locale.ENGLISH);
+        collator.setStrength(Collator.SECONDARY);
+        Comparator<Internship> byId = Comparator.comparing(i -> i.getInternshipId().toLowerCase());
+        Comparator<Internship> byTitle = Comparator.<Internship, String>comparing(Internship::getTitle, collator::compare).thenComparing(byId);
+        for (String sort : new String[]{"title", "closingDate", "openingDate"}) {
+            FilterSettings filters = new FilterSettings();
+            filters.setSortBy(sort);
+            List<Internship> listed = manager.getInternshipsForUser(staff, filters);
+            List<Internship> expected = new ArrayList<>(repo.getAllInternships());
+            expected.sort(sort.equals("title") ? byTitle : legacyOrder(sort).thenComparing(byId));
+            if (!listed.equals(expected)) {
+                System.out.println("FAILED: listing sorted by " + sort + " differs from a full sort");
+                System.exit(1);
+            }
+        }
+
+        FilterSettings closingSoon = new FilterSettings();
+        closingSoon.setSortBy("closingDate");
+        closingSoon.setClosingWithinDays(7);
+        if (!manager.getInternshipsForUser(staff, closingSoon).equals(legacyClosingSoon(repo.getAllInternships(), today, 7))) {
+            System.out.println("FAILED: closing in the next 7 days differs from a scan");
+            System.exit(1);
+        }
+
+        FilterSettings byTitleFilters = new FilterSettings();
+        int rounds = 20, listed = 0;
+        for (int warm = 0; warm < 3; warm++) {
+            long begin = System.nanoTime();
+            for (int r = 0; r < rounds; r++) {
+                List<Internship> copy = new ArrayList<>(repo.getAllInternships());
+                copy.sort(legacyOrder("title"));
+                listed += copy.size();
+            }
+            long legacyTitle = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            for (int r = 0; r < rounds; r++) listed += manager.getInternshipsForUser(staff, byTitleFilters).size();
+            long viewTitle = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            for (int r = 0; r < rounds; r++) listed += legacyClosingSoon(repo.getAllInternships(), today, 7).size();
+            long legacyRange = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            for (int r = 0; r < rounds; r++) listed += manager.getInternshipsForUser(staff, closingSoon).size();
+            long viewRange = System.nanoTime() - begin;
+
+            if (warm == 2) {
+                System.out.printf("by title:            sort per request %7.1f ms | sorted view %6.2f ms (%.0fx)%n",
+                        legacyTitle / 1e6 / rounds, viewTitle / 1e6 / rounds, (double) legacyTitle / viewTitle);
+                System.out.printf("closing in 7 days:   scan and sort    %7.1f ms | range query %6.2f ms (%.0fx)  [%d]%n%n",
+                        legacyRange / 1e6 / rounds, viewRange / 1e6 / rounds, (double) legacyRange / viewRange, listed);
+            }
+        }
+    }
+
+    // The comparators listings used before the sorted views
+    private static Comparator<Internship> legacyOrder(String sort) {
+        return switch (sort) {
+            case "closingDate" -> Comparator.comparing(Internship::getClosingDate, String.CASE_INSENSITIVE_ORDER);
+            case "openingDate" -> Comparator.comparing(Internship::getOpeningDate, String.CASE_INSENSITIVE_ORDER);
+            default -> Comparator.comparing(i -> i.getTitle().toLowerCase());
+        };
+    }
+
+    private static List<Internship> legacyClosingSoon(List<Internship> all, LocalDate today, int days) {
+        String from = today.toString(), to = today.plusDays(days).toString();
+        List<Internship> result = new ArrayList<>();
+        for (Internship i : all) {
+            if (i.getClosingDate().compareTo(from) >= 0 && i.getClosingDate().compareTo(to) <= 0) result.add(i);
+        }
+        result.sort(legacyOrder("closingDate").thenComparing(i -> i.getInternshipId().toLowerCase()));
+        return result;
+    }
+
+    // ================================================================
+    // HTTP API: concurrent read-only requests against a running server
+    // ================================================================
+
+    private static void benchmarkHttpReads() throws Exception {
+        String base = System.getProperty("ips.http.url", "http://localhost:8080");
+        String auth = "Basic " + Base64.getEncoder().encodeToString(
+                System.getProperty("ips.http.user", "U2310001A:password").getBytes(StandardCharsets.UTF_8));
+        int clients = 64, requestsPerClient = 200;
+        System.out.printf("--- HTTP reads: %d clients x %d requests (GET /api/internships, /api/me) at %s ---%n",
+                clients, requestsPerClient, base);
+
+        ExecutorService clientPool = Executors.newFixedThreadPool(16);
+        try {
+            benchmarkHttpReads(base, auth, clients, requestsPerClient,
+                    HttpClient.newBuilder().executor(clientPool).build());
+        } finally {
+            clientPool.shutdown();
+        }
+    }
+
+    private static void benchmarkHttpReads(String base, String auth, int clients, int requestsPerClient,
+                                           HttpClient client) throws Exception {
+        List<HttpRequest> requests = List.of(
+                HttpRequest.newBuilder(URI.create(base + "/api/internships")).header("Authorization", auth).build(),
+                HttpRequest.newBuilder(URI.create(base + "/api/me")).header("Authorization", auth).build());
+        try {
+            client.send(requests.get(1), HttpResponse.BodyHandlers.discarding()); // connection check
+        } catch (IOException e) {
+            System.out.println("No server at " + base + " (" + e.getMessage() + "); skipped.\n");
+            return;
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger ok = new AtomicInteger(), failed = new AtomicInteger();
+        long[] latencies = new long[clients * requestsPerClient];
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < clients; t++) {
+            int thread = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int n = 0; n < requestsPerClient; n++) {
+                        long begin = System.nanoTime();
+                        HttpResponse<Void> response = client.send(requests.get(n % 2),
+                                HttpResponse.BodyHandlers.discarding());
+                        latencies[thread * requestsPerClient + n] = System.nanoTime() - begin;
+                        if (response.statusCode() == 200) ok.incrementAndGet();
+                        else failed.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+        long elapsed = System.nanoTime() - begin;
+
+        Arrays.sort(latencies);
+        System.out.printf("%8.0f req/s  (%d ok, %d failed in %d ms)  p50 %.2f ms  p99 %.2f ms%n%n",
+                ok.get() / (elapsed / 1e9), ok.get(), failed.get(), elapsed / 1_000_000,
+                latencies[latencies.length / 2] / 1e6, latencies[latencies.length * 99 / 100] / 1e6);
+    }
+}
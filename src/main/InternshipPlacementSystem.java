@@ -1,18 +1,26 @@
 package main;
 
+import main.boundary.HttpApiServer;
 import main.boundary.MainMenu;
 import main.control.AppContext;
-import main.data.DataLoader;
+
+import java.io.IOException;
+import java.util.Arrays;
 
 public class InternshipPlacementSystem {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        // Headless mode: --server [port] serves the HTTP/JSON API instead of the console menus
+        if (args.length > 0 && args[0].equals("--server")) {
+            HttpApiServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         AppContext app = new AppContext(); // Shared managers and data
         MainMenu mainMenu = new MainMenu(app);
         mainMenu.start();
 
-        // Optional: save on exit
-        DataLoader.saveAllUsers(app.userManager);
-        DataLoader.saveInternships(app.internshipRepository);
+        // Drain pending writes and save on exit
+        app.shutdown();
         System.out.println("💾 All data saved. Goodbye!");
     }
 }
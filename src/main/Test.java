@@ -45,8 +45,9 @@ public class Test {
 
         // 🎓 STUDENT LOGIN & INTERNSHIP VIEW
         System.out.println("\n🎓 Testing student login and internship view...");
-        if (auth.login("U2310001A", "password")) {
-            Student s = (Student) auth.getCurrentUser();
+        String studentSession = auth.login("U2310001A", "password");
+        if (studentSession != null) {
+            Student s = (Student) auth.getCurrentUser(studentSession);
             FilterSettings studentFilters = new FilterSettings();
 
             // Student views internships
@@ -55,13 +56,14 @@ public class Test {
             // Optionally simulate applying for an internship
             System.out.println("\n📩 Simulating internship application...");
             internshipManager.displayInternshipsForUser(s, studentFilters);
-            auth.logout();
+            auth.logout(studentSession);
         }
 
         // 🏢 COMPANY REP LOGIN & MANAGEMENT
         System.out.println("\n🏢 Testing company rep login and internship view...");
-        if (auth.login("alice@google.com", "password")) {
-            CompanyRepresentative rep = (CompanyRepresentative) auth.getCurrentUser();
+        String repSession = auth.login("alice@google.com", "password");
+        if (repSession != null) {
+            CompanyRepresentative rep = (CompanyRepresentative) auth.getCurrentUser(repSession);
             FilterSettings repFilters = new FilterSettings();
 
             // Rep views their internships
@@ -72,13 +74,14 @@ public class Test {
 
             // View again
             internshipManager.displayInternshipsForUser(rep, repFilters);
-            auth.logout();
+            auth.logout(repSession);
         }
 
         // 👩‍💼 STAFF LOGIN & APPROVAL
         System.out.println("\n👩‍💼 Testing staff login and internship approval flow...");
-        if (auth.login("tan002@ntu.edu.sg", "1234")) { // Replace with real staff email if needed
-            CareerCenterStaff staff = (CareerCenterStaff) auth.getCurrentUser();
+        String staffSession = auth.login("tan002@ntu.edu.sg", "1234");
+        if (staffSession != null) { // Replace with real staff email if needed
+            CareerCenterStaff staff = (CareerCenterStaff) auth.getCurrentUser(staffSession);
             FilterSettings staffFilters = new FilterSettings();
 
             // Staff views all internships
@@ -89,7 +92,7 @@ public class Test {
 
             // View again to confirm
             internshipManager.displayInternshipsForUser(staff, staffFilters);
-            auth.logout();
+            auth.logout(staffSession);
         }
 
         // 💾 SAVE FINAL DATA
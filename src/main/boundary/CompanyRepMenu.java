@@ -5,17 +5,21 @@ import main.entity.*;
 import main.entity.enums.*;
 import main.util.InputHandler;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class CompanyRepMenu {
     private final AppContext app;
     private final CompanyRepresentative currentRep;
+    private final String session;
     private final InputHandler input = new InputHandler();
     private final FilterMenu filterMenu = new FilterMenu();
+    private final InternshipPager pager = new InternshipPager();
     private final FilterSettings filters = new FilterSettings();
 
-    public CompanyRepMenu(AppContext app, CompanyRepresentative rep) {
+    public CompanyRepMenu(AppContext app, String session, CompanyRepresentative rep) {
         this.app = app;
+        this.session = session;
         this.currentRep = rep;
     }
     public void start() {
@@ -34,8 +38,13 @@ public class CompanyRepMenu {
             System.out.println("9. Logout");
 
             int choice = input.readInt("Enter choice: ", 1, 9);
+            // Every action renews the session; one left idle too long has to log in again
+            if (app.authenticator.getCurrentUser(session) == null) {
+                System.out.println("⌛ Your session has expired. Please log in again.");
+                return;
+            }
             switch (choice) {
-                case 1 -> app.internshipManager.displayInternshipsForUser(currentRep, filters);
+                case 1 -> pager.browse(app, currentRep, filters);
                 case 2 -> filterMenu.open(filters, true, true, true, true, true);
                 case 3 -> createInternshipInput();
                 case 4 -> editInternshipInput();
@@ -64,7 +73,7 @@ public class CompanyRepMenu {
                 currentRep.getUserId(),
                 currentRep.getCompanyName(),
                 title, desc, level, major, openDate, closeDate, slots
-        );
+        ).print();
     }
 
     // EDIT INTERNSHIP
@@ -84,7 +93,7 @@ public class CompanyRepMenu {
         app.internshipManager.editInternship(
                 id, currentRep.getUserId(),
                 title, desc, level, major, openDate, closeDate, slots
-        );
+        ).print();
     }
 
 
@@ -93,7 +102,7 @@ public class CompanyRepMenu {
         System.out.println("\n--- TOGGLE INTERNSHIP VISIBILITY ---");
         String id = input.readString("Enter Internship ID: ");
         boolean visible = input.readYesNo("Set visible ");
-        app.internshipManager.toggleVisibilityForRep(currentRep.getUserId(), id, visible);
+        app.internshipManager.toggleVisibilityForRep(currentRep.getUserId(), id, visible).print();
     }
 
     private void viewApplications() {
@@ -148,7 +157,8 @@ public class CompanyRepMenu {
     }
 
     // Review all Pending Applications
-
+    // Decisions are collected first and submitted as one batch: slots are allocated in the
+    // order decided, approvals beyond the free slots become rejections, and all is saved at once
     private void reviewApplications() {
         List<Application> pending = app.applicationManager.getPendingApplicationsForRep(currentRep.getUserId());
 
@@ -157,34 +167,62 @@ public class CompanyRepMenu {
             return;
         }
 
-        System.out.println("\n--- PENDING APPLICATIONS ---");
+        System.out.println("\n--- PENDING APPLICATIONS (" + pending.size() + ") ---");
+        System.out.println("1. Decide Each Application");
+        System.out.println("2. Approve All for One Internship (first come, first served)");
+        System.out.println("3. Back");
+        List<ReviewDecision> decisions = switch (input.readInt("Select: ", 1, 3)) {
+            case 1 -> decideEach(pending);
+            case 2 -> approveAllFor(pending);
+            default -> List.of();
+        };
+
+        if (decisions.isEmpty()) {
+            System.out.println("No decisions made.");
+            return;
+        }
+        if (!input.readYesNo("Submit " + decisions.size() + " decision(s)?")) return;
+
+        List<OperationResult> results = app.applicationManager.reviewApplications(currentRep.getUserId(), decisions);
+        results.forEach(OperationResult::print);
+        System.out.println("✅ All decisions processed.");
+    }
+
+    private List<ReviewDecision> decideEach(List<Application> pending) {
+        List<ReviewDecision> decisions = new ArrayList<>();
         for (Application a : pending) {
             Internship internship = app.internshipManager.findInternshipById(a.getInternshipId());
             if (internship == null) continue;
 
-            //  Check slot availability
-            if (!internship.hasAvailableSlots()) {
-                System.out.printf("Internship '%s' is full (%d/%d slots filled). Skipping.%n",
-                        internship.getTitle(),
-                        internship.getNumSlots() - internship.getSlotsLeft(),
-                        internship.getNumSlots());
-                continue;
-            }
-
-            System.out.printf("[%s] %s applied for %s\n",
-                    a.getApplicationId(), a.getStudentName(), internship.getTitle());
+            System.out.printf("[%s] %s applied for %s (%d/%d slots left)%n",
+                    a.getApplicationId(), a.getStudentName(), internship.getTitle(),
+                    internship.getSlotsLeft(), internship.getNumSlots());
 
             System.out.println("1. APPROVE  2. REJECT  3. SKIP");
             int choice = input.readInt("Select: ", 1, 3);
 
             if (choice == 1) {
-                app.applicationManager.approveApplication(a);
-                System.out.println("✅ Approved " + a.getApplicationId());
+                decisions.add(ReviewDecision.approve(a.getApplicationId()));
             } else if (choice == 2) {
-                app.applicationManager.rejectApplication(a);
-                System.out.println("❌ Rejected " + a.getApplicationId());
+                decisions.add(ReviewDecision.reject(a.getApplicationId()));
             }
         }
-        System.out.println("✅ All decisions processed.");
+        return decisions;
+    }
+
+    private List<ReviewDecision> approveAllFor(List<Application> pending) {
+        String internshipId = input.readString("Enter Internship ID: ");
+        List<ReviewDecision> decisions = new ArrayList<>();
+        for (Application a : pending) {
+            if (a.getInternshipId().equalsIgnoreCase(internshipId)) {
+                decisions.add(ReviewDecision.approve(a.getApplicationId()));
+            }
+        }
+        Internship internship = app.internshipManager.findInternshipById(internshipId);
+        if (internship != null && decisions.size() > internship.getSlotsLeft()) {
+            System.out.printf("%d applicants for %d free slots: the first %d are approved, the rest rejected.%n",
+                    decisions.size(), internship.getSlotsLeft(), internship.getSlotsLeft());
+        }
+        return decisions;
     }
-}
\ No newline at end of file
+}
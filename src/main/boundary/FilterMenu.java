@@ -38,7 +38,9 @@ public class FilterMenu {
             if (allowMajor) System.out.println((count++) + ". Filter by Preferred Major");
             if (allowLevel) System.out.println((count++) + ". Filter by Internship Level");
             if (allowVisibility) System.out.println((count++) + ". Filter by Visibility");
+            System.out.println((count++) + ". Filter by Closing Date");
             if (allowSort) System.out.println((count++) + ". Change Sorting Order");
+            System.out.println((count++) + ". Search by Keywords");
             System.out.println((count++) + ". Clear All Filters");
             System.out.println((count) + ". Back");
 
@@ -49,7 +51,9 @@ public class FilterMenu {
             if (allowMajor && option == index++) { setMajorFilter(filters); continue; }
             if (allowLevel && option == index++) { setLevelFilter(filters); continue; }
             if (allowVisibility && option == index++) { setVisibilityFilter(filters); continue; }
+            if (option == index++) { setClosingFilter(filters); continue; }
             if (allowSort && option == index++) { setSortOrder(filters); continue; }
+            if (option == index++) { setKeywords(filters); continue; }
             if (option == index++) { filters.clear(); System.out.println("🧹 Filters cleared."); continue; }
             if (option == index) { break; }
         }
@@ -89,6 +93,19 @@ public class FilterMenu {
         filters.setVisible((c == 3) ? null : (c == 1));
     }
 
+    private void setClosingFilter(FilterSettings filters) {
+        System.out.println("\nShow internships closing within how many days? (0 = ANY)");
+        int days = input.readInt("Days: ", 0, 365);
+        filters.setClosingWithinDays((days == 0) ? null : days);
+    }
+
+    private void setKeywords(FilterSettings filters) {
+        System.out.println("\nEnter keywords to search titles, descriptions and companies, or 'ANY' to remove:");
+        System.out.println("(Results are ranked by relevance while a search is set.)");
+        String keywords = input.readString("Keywords: ");
+        filters.setKeywords(keywords.equalsIgnoreCase("any") ? null : keywords);
+    }
+
     private void setSortOrder(FilterSettings filters) {
         System.out.println("\nSelect sorting order:");
         System.out.println("1. Alphabetical (Default)");
@@ -0,0 +1,687 @@
+package main.boundary;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import main.control.AppContext;
+import main.control.InternshipManager;
+import main.control.OperationResult;
+import main.control.Page;
+import main.entity.Application;
+import main.entity.CareerCenterStaff;
+import main.entity.CompanyRepresentative;
+import main.entity.FilterSettings;
+import main.entity.Internship;
+import main.entity.Student;
+import main.entity.User;
+import main.entity.enums.AccountStatus;
+import main.entity.enums.InternshipLevel;
+import main.entity.enums.InternshipStatus;
+import main.util.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HttpApiServer - Headless HTTP/JSON front end over the same managers the console menus use
+ *
+ * RESPONSIBILITIES:
+ *  - Authenticate every request with a session token (Authorization: Bearer), or with
+ *    HTTP Basic credentials (ID, or email for reps)
+ *  - Map routes to manager calls, applying the same role rules as the menus
+ *  - Turn OperationResults and entities into JSON
+ *
+ * Requests are handled concurrently: on virtual threads where the runtime has them,
+ * otherwise on a bounded pool whose queue is capped, so overload drops connections
+ * instead of piling up threads.
+ * POST /api/sessions (with Basic credentials) opens a session in the shared SessionManager
+ * and returns its token; later requests send the token instead of the password, and
+ * DELETE /api/sessions ends it. Sessions expire when idle, like console logins.
+ *
+ * GET /api/internships returns every match, or one page of them when "pageSize" or
+ * "cursor" is given: {"items": [...], "nextCursor": ...}, at most 100 items per page.
+ * "closingWithin=N" keeps those closing between today and N days from now.
+ *
+ * Internships and applications are returned with their "version". Writes that act on
+ * one may send that version back (JSON field or query parameter "version"); if the
+ * entity has changed since, the write is refused with 409 instead of overwriting.
+ * Other refusals answer 400 (bad input), 403 (not allowed) or 404 (not found);
+ * request bodies over 64 KB are refused with 413.
+ *
+ * Credentials travel in plaintext, so the server listens on loopback only unless
+ * -Dips.http.bind=<address> (e.g. 0.0.0.0) explicitly opts in to other interfaces.
+ *
+ * Start with:  java main.InternshipPlacementSystem --server [port]
+ */
+public class HttpApiServer {
+
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final int POOL_THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+    private static final int POOL_QUEUE = 1024;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final AppContext app;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /** A server reachable from this machine only */
+    public HttpApiServer(AppContext app, int port) throws IOException {
+        this(app, port, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * @param bindAddress the interface to listen on; anything but loopback exposes
+     *                    plaintext credentials to the network, so it must be asked for
+     */
+    public HttpApiServer(AppContext app, int port, InetAddress bindAddress) throws IOException {
+        this.app = app;
+        // Headers and body go out as separate writes; without TCP_NODELAY every response waits on a delayed ACK
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        this.server = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+        this.executor = newExecutor();
+        server.createContext("/api/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("🌐 HTTP API listening on " + server.getAddress().getAddress().getHostAddress()
+                + ":" + server.getAddress().getPort());
+    }
+
+    /** Stops accepting requests, gives in-flight ones a moment to finish, then stops the workers */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Virtual threads when available (Java 21+), looked up reflectively so the code also runs on 17
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) java.util.concurrent.Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return new ThreadPoolExecutor(POOL_THREADS, POOL_THREADS, 30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(POOL_QUEUE), new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    // ================================================================
+    // Dispatch
+    // ================================================================
+
+    /** Error with an HTTP status; thrown by handlers and turned into a JSON error body */
+    private static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /** One parsed request */
+    private record Request(String method, String[] path, Map<String, String> query,
+                           Map<String, String> body, User user, String session) {
+        String param(String name) {
+            String v = body.get(name);
+            return v != null ? v : query.get(name);
+        }
+
+        String required(String name) {
+            String v = param(name);
+            if (v == null || v.isBlank()) throw new ApiException(400, "Missing field: " + name);
+            return v.trim();
+        }
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        try {
+            String[] path = segments(ex.getRequestURI().getPath());
+            Map<String, String> query = parseQuery(ex.getRequestURI().getRawQuery());
+            Map<String, String> body = readBody(ex);
+            String method = ex.getRequestMethod().toUpperCase();
+
+            // Registration is the one route open to anonymous callers
+            boolean anonymous = method.equals("POST") && path.length == 1 && path[0].equals("reps");
+            String session = bearerToken(ex);
+            User user = anonymous ? null : authenticate(ex, session);
+
+            Object response = route(new Request(method, path, query, body, user, session));
+            send(ex, statusOf(response), toJson(response));
+        } catch (ApiException e) {
+            if (e.status == 401) ex.getResponseHeaders().set("WWW-Authenticate", "Basic realm=\"ips\"");
+            send(ex, e.status, error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            send(ex, 400, error(e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("HTTP API error: " + e);
+            send(ex, 500, error("Internal error"));
+        } finally {
+            ex.close();
+        }
+    }
+
+    private Object route(Request r) {
+        String[] p = r.path();
+        String m = r.method();
+        String resource = p.length > 0 ? p[0] : "";
+
+        switch (resource) {
+            case "me" -> {
+                if (m.equals("GET") && p.length == 1) return userJson(r.user());
+            }
+            case "sessions" -> {
+                if (m.equals("POST") && p.length == 1) {
+                    Map<String, Object> out = new LinkedHashMap<>();
+                    out.put("token", app.sessions.open(r.user()));
+                    out.put("user", userJson(r.user()));
+                    return out;
+                }
+                if (m.equals("DELETE") && p.length == 1) {
+                    if (r.session() == null) throw new ApiException(400, "Send the session token to end it.");
+                    app.sessions.close(r.session());
+                    return OperationResult.ok("Logged out: " + r.user().getName());
+                }
+            }
+            case "password" -> {
+                if (m.equals("POST") && p.length == 1) {
+                    return app.userManager.changeUserPassword(r.user().getUserId(),
+                            r.required("oldPassword"), r.required("newPassword"));
+                }
+            }
+            case "internships" -> {
+                return internships(r);
+            }
+            case "applications" -> {
+                return applications(r);
+            }
+            case "withdrawals" -> {
+                return withdrawals(r);
+            }
+            case "reps" -> {
+                return reps(r);
+            }
+            case "majors" -> {
+                // Re-read data/major_aliases.csv after staff edit it
+                if (m.equals("POST") && p.length == 2 && p[1].equals("reload")) {
+                    requireRole(r.user(), CareerCenterStaff.class);
+                    int groups = app.majors.reload();
+                    return OperationResult.ok("✅ Reloaded " + groups + " major alias groups.");
+                }
+            }
+            default -> { }
+        }
+        throw new ApiException(404, "No such endpoint");
+    }
+
+    // ================================================================
+    // Internships
+    // ================================================================
+
+    private Object internships(Request r) {
+        String[] p = r.path();
+        String m = r.method();
+
+        if (p.length == 1 && m.equals("GET") && (r.query().containsKey("pageSize") || r.query().containsKey("cursor"))) {
+            // Paged: {"items": [...], "nextCursor": "..."}; pass nextCursor back as "cursor" until it is null
+            int pageSize = r.query().containsKey("pageSize")
+                    ? parseInt(r.query().get("pageSize"), "pageSize") : InternshipManager.DEFAULT_PAGE_SIZE;
+            Page<Internship> page = app.internshipManager.getInternshipPage(r.user(), filtersFrom(r),
+                    Math.min(pageSize, MAX_PAGE_SIZE), r.query().get("cursor"));
+            List<Object> items = new ArrayList<>();
+            for (Internship i : page.items()) items.add(internshipJson(i));
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("items", items);
+            body.put("nextCursor", page.nextCursor());
+            return body;
+        }
+        if (p.length == 1 && m.equals("GET")) {
+            List<Object> list = new ArrayList<>();
+            for (Internship i : app.internshipManager.getInternshipsForUser(r.user(), filtersFrom(r))) {
+                list.add(internshipJson(i));
+            }
+            return list;
+        }
+        if (p.length == 1 && m.equals("POST")) {
+            CompanyRepresentative rep = requireRole(r.user(), CompanyRepresentative.class);
+            return app.internshipManager.createInternship(rep.getUserId(), rep.getCompanyName(),
+                    r.required("title"), r.required("description"),
+                    parseLevel(r.required("level")), r.required("preferredMajor"),
+                    r.required("openingDate"), r.required("closingDate"),
+                    parseInt(r.required("numSlots"), "numSlots"));
+        }
+
+        Internship i = p.length >= 2 ? app.internshipManager.findInternshipById(p[1]) : null;
+        if (i == null) throw new ApiException(404, "Internship not found.");
+
+        if (p.length == 2 && m.equals("GET")) {
+            if (!canSee(r.user(), i)) throw new ApiException(404, "Internship not found.");
+            return internshipJson(i);
+        }
+        if (p.length == 2 && m.equals("PUT")) {
+            CompanyRepresentative rep = requireRole(r.user(), CompanyRepresentative.class);
+            // Unspecified fields keep the values of the version the client says it edited
+            return app.internshipManager.editInternship(i.getInternshipId(), rep.getUserId(),
+                    orElse(r.param("title"), i.getTitle()),
+                    orElse(r.param("description"), i.getDescription()),
+                    r.param("level") != null ? parseLevel(r.param("level")) : i.getLevel(),
+                    orElse(r.param("preferredMajor"), i.getPreferredMajor()),
+                    orElse(r.param("openingDate"), i.getOpeningDate()),
+                    orElse(r.param("closingDate"), i.getClosingDate()),
+                    r.param("numSlots") != null ? parseInt(r.param("numSlots"), "numSlots") : i.getNumSlots(),
+                    expectedVersion(r, i.getVersion()));
+        }
+        if (p.length == 3 && m.equals("POST")) {
+            switch (p[2]) {
+                case "visibility" -> {
+                    CompanyRepresentative rep = requireRole(r.user(), CompanyRepresentative.class);
+                    return app.internshipManager.toggleVisibilityForRep(rep.getUserId(), i.getInternshipId(),
+                            Boolean.parseBoolean(r.required("visible")));
+                }
+                case "approve", "reject" -> {
+                    requireRole(r.user(), CareerCenterStaff.class);
+                    Internship seen = i.copy();
+                    seen.setVersion(expectedVersion(r, i.getVersion()));
+                    return p[2].equals("approve")
+                            ? app.internshipManager.approveInternship(seen)
+                            : app.internshipManager.rejectInternship(seen);
+                }
+                default -> { }
+            }
+        }
+        throw new ApiException(404, "No such endpoint");
+    }
+
+    private static FilterSettings filtersFrom(Request r) {
+        FilterSettings f = new FilterSettings();
+        if (r.query().containsKey("status")) f.setStatus(InternshipStatus.valueOf(r.query().get("status").toUpperCase()));
+        if (r.query().containsKey("level")) f.setLevel(parseLevel(r.query().get("level")));
+        if (r.query().containsKey("major")) f.setPreferredMajor(r.query().get("major"));
+        if (r.query().containsKey("visible")) f.setVisible(Boolean.parseBoolean(r.query().get("visible")));
+        if (r.query().containsKey("sort")) f.setSortBy(r.query().get("sort"));
+        if (r.query().containsKey("q")) f.setKeywords(r.query().get("q"));
+        if (r.query().containsKey("closingWithin")) {
+            int days = parseInt(r.query().get("closingWithin"), "closingWithin");
+            if (days < 0) throw new ApiException(400, "closingWithin must not be negative.");
+            f.setClosingWithinDays(days);
+        }
+        return f;
+    }
+
+    // Same rules as the listing: students see approved, visible internships; reps see their own
+    private static boolean canSee(User user, Internship i) {
+        if (user instanceof Student) return i.isVisible() && i.getStatus() == InternshipStatus.APPROVED;
+        if (user instanceof CompanyRepresentative rep) return i.getRepresentativeId().equalsIgnoreCase(rep.getUserId());
+        return user instanceof CareerCenterStaff;
+    }
+
+    // ================================================================
+    // Applications and withdrawals
+    // ================================================================
+
+    private Object applications(Request r) {
+        String[] p = r.path();
+        String m = r.method();
+        User user = r.user();
+
+        if (p.length == 1 && m.equals("GET")) {
+            List<Application> list;
+            if (user instanceof Student) list = app.applicationManager.getMyApplications(user.getUserId());
+            else if (user instanceof CompanyRepresentative) list = app.applicationManager.getApplicationsForRep(user.getUserId());
+            else list = app.applicationManager.getAllApplications();
+            return applicationsJson(list);
+        }
+        if (p.length == 1 && m.equals("POST")) {
+            Student s = requireRole(user, Student.class);
+            return app.applicationManager.applyForInternship(s, r.required("internshipId"));
+        }
+        if (p.length == 3 && m.equals("POST")) {
+            String appId = p[1];
+            switch (p[2]) {
+                case "accept" -> {
+                    return app.applicationManager.acceptOffer(requireRole(user, Student.class), appId);
+                }
+                case "withdraw" -> {
+                    return app.applicationManager.withdrawApplication(requireRole(user, Student.class), appId);
+                }
+                case "approve", "reject" -> {
+                    CompanyRepresentative rep = requireRole(user, CompanyRepresentative.class);
+                    Application a = findApplication(appId);
+                    Internship i = app.internshipManager.findInternshipById(a.getInternshipId());
+                    if (i == null || !i.getRepresentativeId().equalsIgnoreCase(rep.getUserId())) {
+                        throw new ApiException(403, "You can only review applications for your own internships.");
+                    }
+                    checkVersion(r, a);
+                    return p[2].equals("approve")
+                            ? app.applicationManager.approveApplication(a)
+                            : app.applicationManager.rejectApplication(a);
+                }
+                default -> { }
+            }
+        }
+        throw new ApiException(404, "No such endpoint");
+    }
+
+    private Object withdrawals(Request r) {
+        String[] p = r.path();
+        requireRole(r.user(), CareerCenterStaff.class);
+
+        if (p.length == 1 && r.method().equals("GET")) {
+            return applicationsJson(app.applicationManager.getPendingWithdrawals());
+        }
+        if (p.length == 3 && r.method().equals("POST") && (p[2].equals("approve") || p[2].equals("reject"))) {
+            Application a = findApplication(p[1]);
+            checkVersion(r, a);
+            return p[2].equals("approve")
+                    ? app.applicationManager.approveWithdrawal(a)
+                    : app.applicationManager.rejectWithdrawal(a);
+        }
+        throw new ApiException(404, "No such endpoint");
+    }
+
+    // --- Optimistic versions sent by the client ---
+    private static long expectedVersion(Request r, long current) {
+        String v = r.param("version");
+        if (v == null || v.isBlank()) return current;
+        try {
+            return Long.parseLong(v.trim());
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "version must be a whole number.");
+        }
+    }
+
+    // Applications are updated in place, so a stale version is refused here; races after
+    // this check are caught by the manager's compare-and-set
+    private static void checkVersion(Request r, Application a) {
+        long expected = expectedVersion(r, a.getVersion());
+        if (expected != a.getVersion()) {
+            throw new ApiException(409, "Application " + a.getApplicationId() + " was changed by someone else (version "
+                    + a.getVersion() + ", expected " + expected + "). Reload it and try again.");
+        }
+    }
+
+    private Application findApplication(String appId) {
+        Application a = app.applicationRepository.findById(appId);
+        if (a == null) throw new ApiException(404, "Application not found.");
+        return a;
+    }
+
+    // ================================================================
+    // Company representative accounts
+    // ================================================================
+
+    private Object reps(Request r) {
+        String[] p = r.path();
+        String m = r.method();
+
+        if (p.length == 1 && m.equals("POST")) {
+            return app.companyRepManager.registerNewRep(r.required("name"), r.required("email"),
+                    r.required("companyName"), r.required("department"), r.required("position"));
+        }
+
+        requireRole(r.user(), CareerCenterStaff.class);
+        if (p.length == 2 && m.equals("GET") && p[1].equals("pending")) {
+            List<Object> list = new ArrayList<>();
+            for (CompanyRepresentative rep : app.userManager.getPendingCompanyReps()) list.add(userJson(rep));
+            return list;
+        }
+        if (p.length == 3 && m.equals("POST") && (p[2].equals("approve") || p[2].equals("reject"))) {
+            if (!(app.userManager.findUserById(p[1]) instanceof CompanyRepresentative rep)) {
+                throw new ApiException(404, "Company representative not found.");
+            }
+            if (rep.getAccountStatus() != AccountStatus.PENDING) {
+                return OperationResult.conflict("Account " + rep.getUserId() + " is already " + rep.getAccountStatus());
+            }
+            if (p[2].equals("approve")) app.userManager.approveCompanyRep(rep);
+            else app.userManager.rejectCompanyRep(rep);
+            return OperationResult.ok("Account " + rep.getUserId() + " is now " + rep.getAccountStatus(),
+                    rep.getUserId());
+        }
+        throw new ApiException(404, "No such endpoint");
+    }
+
+    // ================================================================
+    // Authentication
+    // ================================================================
+
+    // The token of "Authorization: Bearer <token>", or null
+    private static String bearerToken(HttpExchange ex) {
+        String header = ex.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.regionMatches(true, 0, "Bearer ", 0, 7)) return null;
+        return header.substring(7).trim();
+    }
+
+    private User authenticate(HttpExchange ex, String session) {
+        if (session != null) {
+            User user = app.sessions.resolve(session); // one hash lookup, no password check
+            if (user == null) throw new ApiException(401, "Session expired or unknown. Please log in again.");
+            return user;
+        }
+        String header = ex.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.regionMatches(true, 0, "Basic ", 0, 6)) {
+            throw new ApiException(401, "Authentication required.");
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getDecoder().decode(header.substring(6).trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(401, "Malformed credentials.");
+        }
+        int colon = decoded.indexOf(':');
+        if (colon < 0) throw new ApiException(401, "Malformed credentials.");
+
+        User user = app.authenticator.authenticate(decoded.substring(0, colon), decoded.substring(colon + 1));
+        if (user == null) throw new ApiException(401, "Invalid credentials.");
+        return user;
+    }
+
+    private static <T extends User> T requireRole(User user, Class<T> role) {
+        if (!role.isInstance(user)) throw new ApiException(403, "This action is not available for your role.");
+        return role.cast(user);
+    }
+
+    // ================================================================
+    // JSON views
+    // ================================================================
+
+    private static Map<String, Object> userJson(User u) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", u.getUserId());
+        m.put("name", u.getName());
+        m.put("email", u.getEmail());
+        m.put("role", u.getRole());
+        if (u instanceof Student s) {
+            m.put("major", s.getMajor());
+            m.put("yearOfStudy", s.getYearOfStudy());
+        } else if (u instanceof CompanyRepresentative rep) {
+            m.put("companyName", rep.getCompanyName());
+            m.put("department", rep.getDepartment());
+            m.put("position", rep.getPosition());
+            m.put("accountStatus", rep.getAccountStatus());
+        } else if (u instanceof CareerCenterStaff staff) {
+            m.put("department", staff.getStaffDepartment());
+        }
+        return m;
+    }
+
+    private static Map<String, Object> internshipJson(Internship i) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", i.getInternshipId());
+        m.put("title", i.getTitle());
+        m.put("description", i.getDescription());
+        m.put("level", i.getLevel());
+        m.put("preferredMajor", i.getPreferredMajor());
+        m.put("openingDate", i.getOpeningDate());
+        m.put("closingDate", i.getClosingDate());
+        m.put("status", i.getStatus());
+        m.put("companyName", i.getCompanyName());
+        m.put("representativeId", i.getRepresentativeId());
+        m.put("numSlots", i.getNumSlots());
+        m.put("slotsLeft", i.getSlotsLeft());
+        m.put("visible", i.isVisible());
+        m.put("version", i.getVersion());
+        return m;
+    }
+
+    private static List<Object> applicationsJson(List<Application> list) {
+        List<Object> out = new ArrayList<>();
+        for (Application a : list) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("id", a.getApplicationId());
+            m.put("studentId", a.getStudentId());
+            m.put("studentName", a.getStudentName());
+            m.put("studentMajor", a.getStudentMajor());
+            m.put("studentYear", a.getStudentYear());
+            m.put("internshipId", a.getInternshipId());
+            m.put("appliedDate", a.getAppliedDate());
+            m.put("status", a.getStatus());
+            m.put("version", a.getVersion());
+            out.add(m);
+        }
+        return out;
+    }
+
+    private static String toJson(Object response) {
+        if (response instanceof OperationResult r) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("success", r.success());
+            m.put("message", r.message() == null ? null : r.message().trim());
+            if (r.id() != null) m.put("id", r.id());
+            return Json.write(m);
+        }
+        return Json.write(response);
+    }
+
+    private static String error(String message) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("success", false);
+        m.put("message", message);
+        return Json.write(m);
+    }
+
+    // ================================================================
+    // HTTP plumbing
+    // ================================================================
+
+    private static void send(HttpExchange ex, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // A refused action: 400 bad input, 403 not allowed, 404 missing, 409 state or version conflict
+    private static int statusOf(Object response) {
+        if (!(response instanceof OperationResult r) || r.success()) return 200;
+        return switch (r.failure()) {
+            case INVALID -> 400;
+            case FORBIDDEN -> 403;
+            case NOT_FOUND -> 404;
+            case CONFLICT -> 409;
+        };
+    }
+
+    // Bodies are small JSON objects; anything over MAX_BODY_BYTES is refused unread (or read no further)
+    private static Map<String, String> readBody(HttpExchange ex) throws IOException {
+        String length = ex.getRequestHeaders().getFirst("Content-Length");
+        if (length != null && Long.parseLong(length.trim()) > MAX_BODY_BYTES) throw bodyTooLarge();
+        try (InputStream in = ex.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) throw bodyTooLarge();
+            return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static ApiException bodyTooLarge() {
+        return new ApiException(413, "Request body is larger than " + MAX_BODY_BYTES + " bytes.");
+    }
+
+    // "/api/internships/INT001/approve" -> ["internships", "INT001", "approve"]
+    private static String[] segments(String path) {
+        String rest = path.substring("/api/".length());
+        if (rest.endsWith("/")) rest = rest.substring(0, rest.length() - 1);
+        return rest.isEmpty() ? new String[0] : rest.split("/");
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return query;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.put(key, value);
+        }
+        return query;
+    }
+
+    private static InternshipLevel parseLevel(String level) {
+        return InternshipLevel.valueOf(level.trim().toUpperCase());
+    }
+
+    private static int parseInt(String value, String field) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, field + " must be a whole number.");
+        }
+    }
+
+    private static String orElse(String value, String fallback) {
+        return value == null || value.isBlank() ? fallback : value.trim();
+    }
+
+    // ================================================================
+    // Standalone entry point
+    // ================================================================
+
+    /** Runs the server until the process is stopped; data is saved by a shutdown hook */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0])
+                : Integer.getInteger("ips.http.port", DEFAULT_PORT);
+
+        // Loopback unless a wider bind is asked for explicitly, e.g. -Dips.http.bind=0.0.0.0
+        String bind = System.getProperty("ips.http.bind");
+        InetAddress bindAddress = bind == null ? InetAddress.getLoopbackAddress() : InetAddress.getByName(bind);
+
+        AppContext app = new AppContext();
+        HttpApiServer server = new HttpApiServer(app, port, bindAddress);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            app.shutdown();
+            System.out.println("💾 All data saved. Goodbye!");
+        }));
+        server.start();
+    }
+}
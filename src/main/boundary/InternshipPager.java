@@ -0,0 +1,27 @@
+package main.boundary;
+
+import main.control.AppContext;
+import main.control.InternshipManager;
+import main.entity.FilterSettings;
+import main.entity.User;
+import main.util.InputHandler;
+
+/**
+ * InternshipPager - Shows a user's internship listing one page at a time
+ *
+ * Each page is fetched on demand with the cursor from the previous one, so a long
+ * listing is never built or printed in full unless the user keeps asking for more.
+ */
+public class InternshipPager {
+
+    public static final int PAGE_SIZE = InternshipManager.DEFAULT_PAGE_SIZE;
+
+    private final InputHandler input = new InputHandler();
+
+    public void browse(AppContext app, User user, FilterSettings filters) {
+        String cursor = app.internshipManager.displayInternshipPage(user, filters, PAGE_SIZE, null);
+        while (cursor != null && input.readYesNo("Show the next " + PAGE_SIZE + " internships?")) {
+            cursor = app.internshipManager.displayInternshipPage(user, filters, PAGE_SIZE, cursor);
+        }
+    }
+}
@@ -50,39 +50,39 @@ public class MainMenu {
         String password = inputHandler.readPassword("Password: ");
         String input = idOrEmail.trim().toLowerCase();
 
-        boolean loggedIn = app.authenticator.login(input, password);
-        if (!loggedIn) {
+        String session = app.authenticator.login(input, password);
+        if (session == null) {
             System.out.println("Login Failed.\n");
             return;
         }
 
-        User user = app.authenticator.getCurrentUser();
+        User user = app.authenticator.getCurrentUser(session);
 
         if (user instanceof CompanyRepresentative rep &&
                 rep.getAccountStatus() != AccountStatus.APPROVED) {
             System.out.println("\nYour account is not approved yet. Current status: " + rep.getAccountStatus());
-            app.authenticator.logout();
+            app.authenticator.logout(session);
             return;
         }
 
-        redirectToRoleMenu(user);
+        redirectToRoleMenu(session, user);
     }
 
-    private void redirectToRoleMenu(User user) {
+    private void redirectToRoleMenu(String session, User user) {
         if (user instanceof Student s) {
             System.out.println("🎓 Redirecting to Student Menu...");
-            new StudentMenu(app, s).start();
+            new StudentMenu(app, session, s).start();
 
         } else if (user instanceof CompanyRepresentative rep) {
             System.out.println("🏢 Redirecting to Company Representative Menu...");
-            new CompanyRepMenu(app, rep).start();
+            new CompanyRepMenu(app, session, rep).start();
 
         } else if (user instanceof CareerCenterStaff staff) {
             System.out.println("👩‍💼 Redirecting to Staff Menu...");
-            new StaffMenu(app, staff).start();
+            new StaffMenu(app, session, staff).start();
         }
 
-        app.authenticator.logout();
+        app.authenticator.logout(session);
     }
 
     private void RegistrationMenu() {
@@ -101,6 +101,6 @@ public class MainMenu {
         String dept = inputHandler.readString("Department: ");
         String position = inputHandler.readString("Position: ");
 
-        app.companyRepManager.registerNewRep(name, email, company, dept, position);
+        app.companyRepManager.registerNewRep(name, email, company, dept, position).print();
     }
 }
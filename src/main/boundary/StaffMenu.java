@@ -2,20 +2,29 @@ package main.boundary;
 
 import main.control.*;
 import main.entity.*;
+import main.entity.enums.InternshipLevel;
+import main.entity.enums.InternshipStatus;
 import main.util.InputHandler;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 
 public class StaffMenu {
     private final AppContext app;
     private final CareerCenterStaff currentStaff;
+    private final String session;
     private final InputHandler input = new InputHandler();
     private final FilterMenu filterMenu = new FilterMenu();
+    private final InternshipPager pager = new InternshipPager();
     private final FilterSettings filters = new FilterSettings();
 
 
-    public StaffMenu(AppContext app, CareerCenterStaff staff) {
+    public StaffMenu(AppContext app, String session, CareerCenterStaff staff) {
         this.app = app;
+        this.session = session;
         this.currentStaff = staff;
     }
 
@@ -28,23 +37,30 @@ public class StaffMenu {
             System.out.println("2. Set Filter for Internships");
             System.out.println("3. View All Users");
             System.out.println("4. Approve/Reject Internship");
-            System.out.println("5. Approve Company Representative Accounts");
-            System.out.println("6. Approve Withdrawal Requests");
-            System.out.println("7. Generate Report");
-            System.out.println("8. Change Password");
-            System.out.println("9. Logout");
-
-            int choice = input.readInt("Enter choice: ", 1, 9);
+            System.out.println("5. Bulk Approve/Reject Internships");
+            System.out.println("6. Approve Company Representative Accounts");
+            System.out.println("7. Approve Withdrawal Requests");
+            System.out.println("8. Generate Report");
+            System.out.println("9. Change Password");
+            System.out.println("10. Logout");
+
+            int choice = input.readInt("Enter choice: ", 1, 10);
+            // Every action renews the session; one left idle too long has to log in again
+            if (app.authenticator.getCurrentUser(session) == null) {
+                System.out.println("⌛ Your session has expired. Please log in again.");
+                return;
+            }
             switch (choice) {
-                case 1 -> app.internshipManager.displayInternshipsForUser(currentStaff, filters);
+                case 1 -> pager.browse(app, currentStaff, filters);
                 case 2 -> filterMenu.open(filters, true, false, false, true, true);
                 case 3 -> app.userManager.displayAllUsers();
                 case 4 -> approveInternships();
-                case 5 -> approveCompanyReps();
-                case 6 -> approveWithdrawals();
-                case 7 ->  generateReport();
-                case 8 -> app.authenticator.changePassword(currentStaff);
-                case 9 -> running = false;
+                case 5 -> bulkReviewInternships();
+                case 6 -> approveCompanyReps();
+                case 7 -> approveWithdrawals();
+                case 8 ->  generateReport();
+                case 9 -> app.authenticator.changePassword(currentStaff);
+                case 10 -> running = false;
             }
         }
     }
@@ -65,17 +81,74 @@ public class StaffMenu {
             System.out.println("1. APPROVE\n2. REJECT");
             int choice = input.readInt("Select action: ", 1, 2);
 
+            // Decides on the version shown above; if a rep edited it meanwhile, the review is refused
             if (choice == 1) {
-                app.internshipManager.approveInternship(i); // ✅ Delegate logic & persistence
-                System.out.println("✅ Internship approved: " + i.getTitle());
+                app.internshipManager.approveInternship(i).print(); // ✅ Delegate logic & persistence
             } else {
-                app.internshipManager.rejectInternship(i);
-                System.out.println("❌ Internship rejected: " + i.getTitle());
+                app.internshipManager.rejectInternship(i).print();
             }
         }
     }
 
 
+    // --- BULK APPROVE OR REJECT INTERNSHIPS ---
+    private void bulkReviewInternships() {
+        System.out.println("\n--- BULK INTERNSHIP REVIEW ---");
+        List<Internship> pending = app.internshipManager.getPendingInternships();
+
+        if (pending.isEmpty()) {
+            System.out.println("No pending internships found.");
+            return;
+        }
+        System.out.println(pending.size() + " internship(s) pending.");
+        System.out.println("1. Select by IDs\n2. Select by Company / Level / Major");
+        List<Internship> selected = input.readInt("Select: ", 1, 2) == 1
+                ? selectByIds(pending)
+                : pending.stream().filter(readBulkFilter()).toList();
+
+        if (selected.isEmpty()) {
+            System.out.println("No pending internships match.");
+            return;
+        }
+        for (Internship i : selected) {
+            System.out.printf("ID: %s | Title: %s | Company: %s | Level: %s | Major: %s | Slots: %d%n",
+                    i.getInternshipId(), i.getTitle(), i.getCompanyName(), i.getLevel(),
+                    i.getPreferredMajor(), i.getNumSlots());
+        }
+
+        System.out.println("\n1. APPROVE ALL  2. REJECT ALL  3. CANCEL");
+        int choice = input.readInt("Select action (" + selected.size() + " internships): ", 1, 3);
+        if (choice == 3) return;
+
+        // Decides on the versions listed above, all in one commit; any edited meanwhile are refused
+        List<OperationResult> results = app.internshipManager.reviewInternships(selected,
+                choice == 1 ? InternshipStatus.APPROVED : InternshipStatus.REJECTED);
+        long done = results.stream().filter(OperationResult::success).count();
+        results.forEach(OperationResult::print);
+        System.out.printf("%d of %d internship(s) %s.%n", done, results.size(),
+                choice == 1 ? "approved" : "rejected");
+    }
+
+    private List<Internship> selectByIds(List<Internship> pending) {
+        String line = input.readString("Enter internship IDs (comma-separated): ");
+        Set<String> ids = new HashSet<>();
+        Arrays.stream(line.split("[,\\s]+")).map(String::toUpperCase).forEach(ids::add);
+        return pending.stream().filter(i -> ids.contains(i.getInternshipId().toUpperCase())).toList();
+    }
+
+    private Predicate<Internship> readBulkFilter() {
+        System.out.println("Enter a value to match, or 'ANY'.");
+        String company = input.readString("Company: ");
+        System.out.println("Level: 1. BASIC  2. INTERMEDIATE  3. ADVANCED  4. ANY");
+        int l = input.readInt("Select: ", 1, 4);
+        String major = input.readString("Major: ");
+        return InternshipManager.pendingMatching(
+                company.equalsIgnoreCase("any") ? null : company,
+                l == 4 ? null : InternshipLevel.values()[l - 1],
+                major.equalsIgnoreCase("any") ? null : major);
+    }
+
+
     // --- APPROVE OR REJECT COMPANY REPS ---
     private void approveCompanyReps() {
         System.out.println("\n--- COMPANY REPRESENTATIVE ACCOUNT APPROVAL ---");
@@ -118,11 +191,9 @@ public class StaffMenu {
 
             int choice = input.readInt("1. APPROVE  2. REJECT: ", 1, 2);
             if (choice == 1) {
-                app.applicationManager.approveWithdrawal(a);
-                System.out.println("✅ Withdrawal approved for " + a.getStudentName());
+                app.applicationManager.approveWithdrawal(a).print();
             } else {
-                app.applicationManager.rejectWithdrawal(a);
-                System.out.println("❌ Withdrawal rejected for " + a.getStudentName());
+                app.applicationManager.rejectWithdrawal(a).print();
             }
         }
     }
@@ -7,13 +7,16 @@ import main.util.InputHandler;
 public class StudentMenu {
     private final AppContext app;
     private final Student currentStudent;
+    private final String session;
     private final InputHandler input = new InputHandler();
     private final FilterMenu filterMenu = new FilterMenu();
+    private final InternshipPager pager = new InternshipPager();
     private final FilterSettings filters = new FilterSettings();
 
 
-    public StudentMenu(AppContext app, Student student) {
+    public StudentMenu(AppContext app, String session, Student student) {
         this.app = app;
+        this.session = session;
         this.currentStudent = student;
     }
 
@@ -23,31 +26,49 @@ public class StudentMenu {
         while (running) {
             System.out.println("\n=== STUDENT MENU ===");
             System.out.println("1. View Available Internships");
-            System.out.println("2. Set Filters for Internships");
-            System.out.println("3. Apply for Internship");
-            System.out.println("4. View My Applications");
-            System.out.println("5. Withdraw Application");
-            System.out.println("6. Change Password");
-            System.out.println("7. Logout");
-
-            int choice = input.readInt("Enter choice: ", 1, 7);
+            System.out.println("2. Search Internships by Keyword");
+            System.out.println("3. Set Filters for Internships");
+            System.out.println("4. Apply for Internship");
+            System.out.println("5. View My Applications");
+            System.out.println("6. Withdraw Application");
+            System.out.println("7. Change Password");
+            System.out.println("8. Logout");
+
+            int choice = input.readInt("Enter choice: ", 1, 8);
+            // Every action renews the session; one left idle too long has to log in again
+            if (app.authenticator.getCurrentUser(session) == null) {
+                System.out.println("⌛ Your session has expired. Please log in again.");
+                return;
+            }
             switch (choice) {
-                case 1 -> app.internshipManager.displayInternshipsForUser(currentStudent, filters);
-                case 2 -> filterMenu.open(filters, false, false, true, true, false);
-                case 3 -> applyForInternship();
-                case 4 -> viewMyApplications();
-                case 5 -> withdrawApplication();
-                case 6 -> app.authenticator.changePassword(currentStudent);
-                case 7 -> running = false;
+                case 1 -> pager.browse(app, currentStudent, filters);
+                case 2 -> searchInternships();
+                case 3 -> filterMenu.open(filters, false, false, true, true, false);
+                case 4 -> applyForInternship();
+                case 5 -> viewMyApplications();
+                case 6 -> withdrawApplication();
+                case 7 -> app.authenticator.changePassword(currentStudent);
+                case 8 -> running = false;
             }
         }
     }
 
+    // One-off search within the current filters; to keep a search, set it in 'Set Filters'
+    private void searchInternships() {
+        System.out.println("\n--- SEARCH INTERNSHIPS ---");
+        String keywords = input.readString("Keywords (e.g. data analyst python): ");
+
+        String saved = filters.getKeywords();
+        filters.setKeywords(keywords);
+        pager.browse(app, currentStudent, filters);
+        filters.setKeywords(saved);
+    }
+
     private void applyForInternship() {
         System.out.println("\n--- APPLY FOR INTERNSHIP ---");
 
-        // Display current view of internships (already filtered by major, level, etc.)
-        app.internshipManager.displayInternshipsForUser(currentStudent, filters);
+        // Display current view of internships (already filtered by major, level, etc.), a page at a time
+        pager.browse(app, currentStudent, filters);
 
         // Ask for input only if there are visible internships
         String internshipId = input.readString("\nEnter Internship ID to apply for (or 'cancel' to go back): ");
@@ -55,7 +76,7 @@ public class StudentMenu {
             System.out.println("Application cancelled.");
             return;
         }
-        app.applicationManager.applyForInternship(currentStudent, internshipId);
+        app.applicationManager.applyForInternship(currentStudent, internshipId).print();
     }
 
     private void viewMyApplications() {
@@ -70,7 +91,7 @@ public class StudentMenu {
                 System.out.println("Accepting this offer will withdraw all other applications.");
                 boolean confirm = input.readYesNo("Proceed?");
                 if (confirm)
-                    app.applicationManager.acceptOffer(currentStudent, id);
+                    app.applicationManager.acceptOffer(currentStudent, id).print();
                 else
                     System.out.println("Offer not accepted.");
             }
@@ -81,7 +102,7 @@ public class StudentMenu {
     private void withdrawApplication() {
         app.applicationManager.displayWithdrawableApplications(currentStudent);
         String appId = input.readString("Enter Application ID to withdraw: ");
-        app.applicationManager.withdrawApplication(currentStudent, appId);
+        app.applicationManager.withdrawApplication(currentStudent, appId).print();
     }
 
 }
@@ -1,11 +1,40 @@
 package main.control;
 import main.data.*;
+import main.entity.Application;
+import main.entity.Internship;
+import main.entity.Student;
+import main.entity.User;
+import main.util.EventBus;
+import main.util.StripedLock;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * AppContext - One place where all the classes are instantiated
  * Prevents multiple instances of managers and repositories.
+ *
+ * Startup loads data/snapshot.bin when it is newer than every CSV and journal;
+ * otherwise it imports the CSVs concurrently (see loadFromCsv).
+ * The snapshot is rewritten on shutdown.
+ *
+ * InternshipManager publishes a DomainEvent on `events` for every internship it
+ * publishes; the eligibility and search indexes subscribe there. The context owns
+ * the bus's worker thread and stops it in shutdown().
  */
 public class AppContext {
+    private static final String STUDENT_FILE = "data/sample_student_list.csv";
+    private static final String COMPANY_REP_FILE = "data/sample_company_representative_list.csv";
+    private static final String STAFF_FILE = "data/sample_staff_list.csv";
+    private static final String INTERNSHIP_FILE = "data/internships.csv";
+    private static final String APPLICATION_FILE = "data/applications.csv";
+    private static final String SNAPSHOT_FILE = "data/snapshot.bin";
+    private static final String SEQUENCE_FILE = "data/sequences.csv";
+    private static final String MAJOR_ALIAS_FILE = "data/major_aliases.csv";
+
     public final UserManager userManager;
     public final CompanyRepManager companyRepManager;
     public final Authenticator authenticator;
@@ -13,29 +42,118 @@ public class AppContext {
     public final InternshipManager internshipManager;
     public final ApplicationRepository applicationRepository;
     public final ApplicationManager applicationManager;
+    public final WriteBehindFlusher flusher;
+    public final EventBus<DomainEvent> events = new EventBus<>();
+    public final SessionManager sessions = new SessionManager();
+    public final MajorMatcher majors = new MajorMatcher(MAJOR_ALIAS_FILE);
+    private final BinarySnapshot snapshot = new BinarySnapshot(SNAPSHOT_FILE);
+    private final IdAllocator ids = new IdAllocator(SEQUENCE_FILE);
+
+    // Filled by loadFromCsv (the final fields cannot be assigned from inside a lambda)
+    private InternshipRepository loadedInternships;
+    private ApplicationRepository loadedApplications;
 
     public AppContext() {
         // Initialize User and Auth
-        userManager = new UserManager();
-        companyRepManager = new CompanyRepManager(userManager);
+        userManager = new UserManager(new UserRepository(STUDENT_FILE, COMPANY_REP_FILE, STAFF_FILE));
 
-        authenticator = new Authenticator(userManager);
+        authenticator = new Authenticator(userManager, sessions);
 
-        // Load all users
-        DataLoader.loadUsers(
-                userManager,
-                "data/sample_student_list.csv",
-                "data/sample_company_representative_list.csv",
-                "data/sample_staff_list.csv"
-        );
+        BinarySnapshot.Contents contents = snapshot.isNewerThan(
+                STUDENT_FILE, Journal.pathFor(STUDENT_FILE),
+                COMPANY_REP_FILE, Journal.pathFor(COMPANY_REP_FILE),
+                STAFF_FILE, Journal.pathFor(STAFF_FILE),
+                INTERNSHIP_FILE, Journal.pathFor(INTERNSHIP_FILE),
+                APPLICATION_FILE, Journal.pathFor(APPLICATION_FILE)) ? snapshot.load() : null;
 
-        // Load internships
-        internshipRepository =  new InternshipRepository("data/internships.csv");
-        internshipManager = new InternshipManager(internshipRepository);
+        if (contents != null) {
+            // Fast path: everything from one binary read
+            userManager.getRepository().addAll(contents.users());
+            internshipRepository = new InternshipRepository(INTERNSHIP_FILE, true, contents.internships());
+            applicationRepository = new ApplicationRepository(APPLICATION_FILE, true, contents.applications());
+            System.out.println("✅ Loaded data from snapshot.");
+        } else {
+            loadFromCsv();
+            internshipRepository = loadedInternships;
+            applicationRepository = loadedApplications;
+            validateReferences();
+        }
 
-        applicationRepository = new ApplicationRepository("data/applications.csv");
-        applicationManager = new ApplicationManager(applicationRepository,internshipManager);
+        // Managers seed the ID allocator from the loaded data, so they are built after loading
+        companyRepManager = new CompanyRepManager(userManager, ids);
+        internshipManager = new InternshipManager(internshipRepository, ids, events, majors);
+        applicationManager = new ApplicationManager(applicationRepository, internshipManager,
+                new StripedLock(), ids);
+        applicationManager.rebuildSlotLedgers();
+
+        // Coalesce repository writes in the background
+        flusher = new WriteBehindFlusher();
+        flusher.register(userManager.getRepository());
+        flusher.register(internshipRepository);
+        flusher.register(applicationRepository);
 
         System.out.println("✅ AppContext initialized successfully.");
     }
+
+    /**
+     * Loads the five CSV files concurrently on a bounded pool, then joins.
+     * Users are added in the same order as a sequential load (students, reps, staff).
+     */
+    private void loadFromCsv() {
+        ExecutorService pool = Executors.newFixedThreadPool(
+                Math.min(5, Runtime.getRuntime().availableProcessors()));
+        try {
+            Future<List<User>> students = pool.submit(() -> DataLoader.loadStudents(STUDENT_FILE));
+            Future<List<User>> reps = pool.submit(() -> DataLoader.loadCompanyReps(COMPANY_REP_FILE));
+            Future<List<User>> staff = pool.submit(() -> DataLoader.loadStaff(STAFF_FILE));
+            Future<InternshipRepository> internships = pool.submit(() -> new InternshipRepository(INTERNSHIP_FILE));
+            Future<ApplicationRepository> applications = pool.submit(() -> new ApplicationRepository(APPLICATION_FILE));
+
+            // --- Join ---
+            UserRepository users = userManager.getRepository();
+            users.addAll(students.get());
+            users.addAll(reps.get());
+            users.addAll(staff.get());
+            loadedInternships = internships.get();
+            loadedApplications = applications.get();
+            System.out.println("✅ All user data loaded successfully ");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading data", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load data", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // --- Validation: warn about applications pointing at missing students or internships ---
+    private void validateReferences() {
+        int missingInternship = 0, missingStudent = 0;
+        for (Application a : applicationRepository.getAllApplications()) {
+            Internship i = internshipRepository.findById(a.getInternshipId());
+            if (i == null) missingInternship++;
+            if (!(userManager.findUserById(a.getStudentId()) instanceof Student)) missingStudent++;
+        }
+        if (missingInternship > 0)
+            System.out.println("⚠ " + missingInternship + " application(s) refer to unknown internships.");
+        if (missingStudent > 0)
+            System.out.println("⚠ " + missingStudent + " application(s) refer to unknown students.");
+    }
+
+    /**
+     * Delivers queued events, drains pending writes, compacts the journals into the CSVs,
+     * then writes the binary snapshot.
+     */
+    public void shutdown() {
+        sessions.shutdown();
+        events.shutdown(); // subscribers may still change repositories
+        flusher.shutdown();
+        DataLoader.saveAllUsers(userManager);
+        DataLoader.saveInternships(internshipRepository);
+        applicationRepository.saveApplications();
+        snapshot.save(userManager.getAllUsers(),
+                internshipRepository.getAllInternships(),
+                applicationRepository.getAllApplications());
+    }
 }
@@ -1,16 +1,25 @@
 package main.control;
 
 import main.data.ApplicationRepository;
+import main.data.ApplicationRepository.StatusChange;
+import main.data.IdAllocator;
+import main.data.VersionConflictException;
 import main.entity.Application;
 import main.entity.Internship;
 import main.entity.Student;
 import main.entity.enums.ApplicationStatus;
 import main.entity.enums.InternshipLevel;
 import main.entity.enums.InternshipStatus;
+import main.util.StripedLock;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class ApplicationManager {
     private final ApplicationRepository appRepo;
@@ -18,17 +27,37 @@ public class ApplicationManager {
     private static final int MAX_APPLICATIONS_PER_STUDENT = 3;
 
 
+    // One student's apply / accept / withdraw run one at a time; different students run in parallel
+    private final StripedLock studentLocks;
+
+    private final IdAllocator ids;
+
     public ApplicationManager(ApplicationRepository appRepo, InternshipManager internshipMgr) {
+        this(appRepo, internshipMgr, new StripedLock(), new IdAllocator());
+    }
+
+    public ApplicationManager(ApplicationRepository appRepo, InternshipManager internshipMgr,
+                              StripedLock studentLocks, IdAllocator ids) {
         this.appRepo = appRepo;
         this.internshipMgr = internshipMgr;
+        this.studentLocks = studentLocks;
+        this.ids = ids;
+        // One scan at startup so new IDs continue after the loaded ones
+        ids.seed(IdAllocator.APPLICATION,
+                appRepo.getAllApplications().stream().map(Application::getApplicationId).toList());
     }
 
     // --- STUDENT APPLY ---
-    public void applyForInternship(Student student, String internshipId) {
+    public OperationResult applyForInternship(Student student, String internshipId) {
+        // The rule checks below read the student's applications, then add one;
+        // the student lock keeps two requests from both passing the checks
+        return studentLocks.call(student.getUserId(), () -> applyLocked(student, internshipId));
+    }
+
+    private OperationResult applyLocked(Student student, String internshipId) {
         Internship internship = internshipMgr.findInternshipById(internshipId);
         if (internship == null) {
-            System.out.println("❌ Internship not found.");
-            return;
+            return OperationResult.notFound("❌ Internship not found.");
         }
 
         // --- Rule 0: Student cannot apply if they already accepted an offer ---
@@ -36,24 +65,19 @@ public class ApplicationManager {
                 .anyMatch(a -> a.getStatus() == ApplicationStatus.ACCEPTED);
 
         if (hasAcceptedOffer) {
-            System.out.println(" ❌ You have already accepted an internship offer. You cannot apply for new internships.");
-            return;
+            return OperationResult.conflict(" ❌ You have already accepted an internship offer. You cannot apply for new internships.");
         }
 
         // Rule 1: Internship must be visible and approved
         if (!internship.isVisible() || internship.getStatus() != InternshipStatus.APPROVED) {
-            System.out.println("❌ Internship is not open for applications.");
-            return;
+            return OperationResult.conflict("❌ Internship is not open for applications.");
         }
 
         // --- Rule 2: Check student already has 3 applications ---
-        long existingApps = appRepo.getAllApplications().stream()
-                .filter(a -> a.getStudentId().equalsIgnoreCase(student.getUserId()))
-                .count();
+        int existingApps = appRepo.getApplicationsByStudent(student.getUserId()).size();
 
         if (existingApps >= MAX_APPLICATIONS_PER_STUDENT) {
-            System.out.println(" ❌ You have already submitted " + MAX_APPLICATIONS_PER_STUDENT + " applications. Please withdraw one before applying again.");
-            return;
+            return OperationResult.conflict(" ❌ You have already submitted " + MAX_APPLICATIONS_PER_STUDENT + " applications. Please withdraw one before applying again.");
         }
 
         //  Rule 3: No applications before opening and after closing date
@@ -61,18 +85,15 @@ public class ApplicationManager {
         LocalDate opening = LocalDate.parse(internship.getOpeningDate());
 
         if (LocalDate.now().isBefore(opening)) {
-            System.out.println("❌ The application period has not opened yet.");
-            return;
+            return OperationResult.conflict("❌ The application period has not opened yet.");
         }
         if (LocalDate.now().isAfter(closing)) {
-            System.out.println("❌ The application period has closed.");
-            return;
+            return OperationResult.conflict("❌ The application period has closed.");
         }
         //  Rule 4: Applications should respect the Major Rules
         if (!internshipMgr.majorsMatch(student.getMajor(), internship.getPreferredMajor())) {
-            System.out.printf("❌ You cannot apply. Internship is restricted to %s majors.%n",
-                    internship.getPreferredMajor());
-            return;
+            return OperationResult.forbidden(String.format("❌ You cannot apply. Internship is restricted to %s majors.",
+                    internship.getPreferredMajor()));
         }
 
 
@@ -80,22 +101,19 @@ public class ApplicationManager {
         boolean levelAllowed = (student.getYearOfStudy() <= 2 && internship.getLevel() == InternshipLevel.BASIC)
                 || (student.getYearOfStudy()  >= 3); // Year 3+ can apply to any level
         if (!levelAllowed) {
-            System.out.println("❌ You are not eligible to apply for this internship level.");
-            return;
+            return OperationResult.forbidden("❌ You are not eligible to apply for this internship level.");
         }
 
-        // Rule 6 : Check slots left
+        // Rule 6 : Check slots left (advisory; the slot itself is reserved on approval)
 
-        if (internship.hasAvailableSlots()) {
-            System.out.println("❌ This internship has no remaining slots.");
-            return;
+        if (!internship.hasAvailableSlots()) {
+            return OperationResult.conflict("❌ This internship has no remaining slots.");
         }
 
         //  Rule 7: Prevent duplicate application for same internship ---
         for (Application existing : appRepo.getApplicationsByStudent(student.getUserId())) {
             if (existing.getInternshipId().equalsIgnoreCase(internshipId)) {
-                System.out.println("❌ You already applied for this internship.");
-                return;
+                return OperationResult.conflict("❌ You already applied for this internship.");
             }
         }
 
@@ -113,38 +131,126 @@ public class ApplicationManager {
                 ApplicationStatus.PENDING
         );
         appRepo.addApplication(app);
-        System.out.println("✅ Application submitted successfully!");
+        return OperationResult.ok("✅ Application submitted successfully!", appId);
     }
 
-    public void approveApplication(Application a) {
+    // Reviews are optimistic: read the version, check the rules, then compare-and-set the status.
+    // If the application changed in between (e.g. the student withdrew), the attempt is retried
+    // against the new state; the slot is taken atomically by the ledger and given back on a lost race.
+    public OperationResult approveApplication(Application a) {
         Internship internship = internshipMgr.findInternshipById(a.getInternshipId());
-        if (internship == null) return;
+        if (internship == null) return OperationResult.notFound("❌ Internship not found for this application.");
 
-        if (!internship.hasAvailableSlots()) {
-            System.out.printf("⚠ Internship '%s' is full.%n", internship.getTitle());
-            return;
-        }
+        return Retry.onConflict(() -> {
+            long seen = a.getVersion();
+            if (a.getStatus() != ApplicationStatus.PENDING) {
+                return OperationResult.conflict("⚠ Application " + a.getApplicationId() + " is no longer pending.");
+            }
+            if (!internshipMgr.reserveSlot(internship)) {
+                return OperationResult.conflict(String.format("⚠ Internship '%s' is full.", internship.getTitle()));
+            }
+            try {
+                appRepo.compareAndSetStatus(a, seen, ApplicationStatus.SUCCESSFUL);
+            } catch (VersionConflictException e) {
+                internshipMgr.releaseSlot(internship);
+                throw e;
+            }
+            return OperationResult.ok("✅ Approved " + a.getApplicationId(), a.getApplicationId());
+        });
+    }
 
-        a.setStatus(ApplicationStatus.SUCCESSFUL);
-        internship.decrementSlot();
-        saveApplications();
-        internshipMgr.saveAllInternships();
+    public OperationResult rejectApplication(Application a) {
+        return Retry.onConflict(() -> {
+            long seen = a.getVersion();
+            if (a.getStatus() != ApplicationStatus.PENDING) {
+                return OperationResult.conflict("⚠ Application " + a.getApplicationId() + " is no longer pending.");
+            }
+            appRepo.compareAndSetStatus(a, seen, ApplicationStatus.UNSUCCESSFUL);
+            return OperationResult.ok("❌ Rejected " + a.getApplicationId(), a.getApplicationId());
+        });
     }
 
-    public void rejectApplication(Application a) {
-        a.setStatus(ApplicationStatus.UNSUCCESSFUL);
-        saveApplications();
+    // --- BATCH REVIEW (Company Rep) ---
+    /**
+     * Applies a rep's decisions on applications to their own internships, in the order given,
+     * and commits them once (one application journal append, one internship journal append).
+     *
+     * Approvals take slots in order; an approval that finds its internship full is turned
+     * into a rejection, so the same list against the same free slots always picks the same
+     * applicants. Decisions on unknown, foreign or no longer pending applications are refused
+     * without affecting the rest. An application changed by someone else while the batch was
+     * being applied (e.g. withdrawn) keeps that change, and its slot is given back.
+     *
+     * @return one result per decision, in order; the result's id is the application ID.
+     *         A result succeeds exactly when its decision was stored, including an
+     *         approval that was turned into a rejection for want of slots
+     */
+    public List<OperationResult> reviewApplications(String repId, List<ReviewDecision> decisions) {
+        OperationResult[] results = new OperationResult[decisions.size()];
+        List<StatusChange> changes = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        Map<Application, Internship> reserved = new HashMap<>();
+        Set<Application> seen = new HashSet<>();
+
+        for (int k = 0; k < decisions.size(); k++) {
+            ReviewDecision d = decisions.get(k);
+            Application a = appRepo.findById(d.applicationId());
+            Internship internship = a == null ? null : internshipMgr.findInternshipById(a.getInternshipId());
+            if (internship == null || !internship.getRepresentativeId().equalsIgnoreCase(repId)) {
+                results[k] = OperationResult.notFound("❌ Application " + d.applicationId() + " not found.");
+                continue;
+            }
+            long version = a.getVersion();
+            if (a.getStatus() != ApplicationStatus.PENDING || !seen.add(a)) {
+                results[k] = OperationResult.conflict("⚠ Application " + a.getApplicationId() + " is no longer pending.");
+                continue;
+            }
+
+            ApplicationStatus decision = ApplicationStatus.UNSUCCESSFUL;
+            if (!d.approve()) {
+                results[k] = OperationResult.ok("❌ Rejected " + a.getApplicationId());
+            } else if (internship.reserveSlot()) {
+                decision = ApplicationStatus.SUCCESSFUL;
+                reserved.put(a, internship);
+                results[k] = OperationResult.ok("✅ Approved " + a.getApplicationId());
+            } else {
+                // Stored as a rejection, so reported as one that succeeded
+                results[k] = OperationResult.ok(String.format("❌ Rejected %s: no slots left in '%s'.",
+                        a.getApplicationId(), internship.getTitle()));
+            }
+            changes.add(new StatusChange(a, version, decision));
+            positions.add(k);
+        }
+
+        // One commit for the applications; any that moved on meanwhile give their slot back
+        Set<StatusChange> applied = new HashSet<>(appRepo.compareAndSetStatuses(changes));
+        Set<Internship> slotsChanged = new LinkedHashSet<>(reserved.values());
+        for (int n = 0; n < changes.size(); n++) {
+            StatusChange c = changes.get(n);
+            Application a = c.application();
+            if (applied.contains(c)) continue;
+            Internship internship = reserved.get(a);
+            if (internship != null) internship.releaseSlot();
+            results[positions.get(n)] = OperationResult.conflict("⚠ Application " + a.getApplicationId()
+                    + " was changed by someone else and was left as " + a.getStatus() + ".");
+        }
+        internshipMgr.persistSlots(slotsChanged);
+
+        List<OperationResult> ordered = new ArrayList<>(results.length);
+        for (int k = 0; k < results.length; k++) {
+            OperationResult r = results[k];
+            ordered.add(r.withId(decisions.get(k).applicationId()));
+        }
+        return ordered;
     }
 
     // COMPANY REP REVIEWS APPLICATIONS
 
     public List<Application> getPendingApplicationsForRep(String repId) {
         List<Application> result = new ArrayList<>();
-        for (Internship i : internshipMgr.getAllInternships()) {
-            if (i.getRepresentativeId().equalsIgnoreCase(repId)) {
-                for (Application a : appRepo.getApplicationsByInternship(i.getInternshipId())) {
-                    if (a.getStatus() == ApplicationStatus.PENDING) result.add(a);
-                }
+        for (Internship i : internshipMgr.getInternshipsByRepresentative(repId)) {
+            for (Application a : appRepo.getApplicationsByInternship(i.getInternshipId())) {
+                if (a.getStatus() == ApplicationStatus.PENDING) result.add(a);
             }
         }
         return result;
@@ -154,12 +260,10 @@ public class ApplicationManager {
         List<Application> result = new ArrayList<>();
 
         // Go through all internships created by this rep
-        for (Internship internship : internshipMgr.getAllInternships()) {
-            if (internship.getRepresentativeId().equalsIgnoreCase(repId)) {
-                // Add all applications for that internship
-                List<Application> apps = appRepo.getApplicationsByInternship(internship.getInternshipId());
-                result.addAll(apps);
-            }
+        for (Internship internship : internshipMgr.getInternshipsByRepresentative(repId)) {
+            // Add all applications for that internship
+            List<Application> apps = appRepo.getApplicationsByInternship(internship.getInternshipId());
+            result.addAll(apps);
         }
 
         return result;
@@ -203,43 +307,54 @@ public class ApplicationManager {
 
 
 
-    public void acceptOffer(Student student, String appId) {
-        Application selected = appRepo.getAllApplications().stream()
-                .filter(a -> a.getApplicationId().equalsIgnoreCase(appId)
-                        && a.getStudentId().equalsIgnoreCase(student.getUserId()))
-                .findFirst().orElse(null);
-
-        if (selected == null) {
-            System.out.println("Application not found.");
-            return;
-        }
-        if (selected.getStatus() != ApplicationStatus.SUCCESSFUL) {
-            System.out.println("You can only accept a successful offer.");
-            return;
-        }
+    public OperationResult acceptOffer(Student student, String appId) {
+        return studentLocks.call(student.getUserId(), () -> acceptLocked(student, appId));
+    }
 
-        // Accept the selected one
-        selected.setStatus(ApplicationStatus.ACCEPTED);
+    private OperationResult acceptLocked(Student student, String appId) {
+        Application selected = findStudentApplication(student, appId);
 
-        // Decrement slot count
-        Internship acceptedInternship = internshipMgr.findInternshipById(selected.getInternshipId());
-        if (acceptedInternship != null) {
-            acceptedInternship.decrementSlot();
-            internshipMgr.saveAllInternships();
+        if (selected == null) {
+            return OperationResult.notFound("Application not found.");
         }
-
-        // Withdraw all other active applications
-        for (Application a : appRepo.getAllApplications()) {
-            if (a.getStudentId().equalsIgnoreCase(student.getUserId())
-                    && !a.getApplicationId().equalsIgnoreCase(appId)
-                    && (a.getStatus() == ApplicationStatus.PENDING
-                    || a.getStatus() == ApplicationStatus.SUCCESSFUL)) {
-                a.setStatus(ApplicationStatus.WITHDRAWN);
+        OperationResult accepted = Retry.onConflict(() -> {
+            long seen = selected.getVersion();
+            if (selected.getStatus() != ApplicationStatus.SUCCESSFUL) {
+                return OperationResult.conflict("You can only accept a successful offer.");
+            }
+            // Accept the selected one, then turn the slot reserved at approval into a placement
+            appRepo.compareAndSetStatus(selected, seen, ApplicationStatus.ACCEPTED);
+            Internship acceptedInternship = internshipMgr.findInternshipById(selected.getInternshipId());
+            if (acceptedInternship != null && !internshipMgr.confirmSlot(acceptedInternship)) {
+                appRepo.setStatus(selected, ApplicationStatus.SUCCESSFUL);
+                return OperationResult.conflict("❌ This offer no longer holds a slot. Please contact the company.");
             }
+            return OperationResult.ok("", appId);
+        });
+        if (!accepted.success()) return accepted;
+
+        // Withdraw all other active applications; other offers give their slot back.
+        // A rep may be reviewing one of them right now, so each is withdrawn by compare-and-set
+        for (Application a : appRepo.getApplicationsByStudent(student.getUserId())) {
+            if (a == selected) continue;
+            Retry.onConflict(() -> {
+                long seen = a.getVersion();
+                ApplicationStatus status = a.getStatus();
+                if (status != ApplicationStatus.PENDING && status != ApplicationStatus.SUCCESSFUL) {
+                    return OperationResult.ok("");
+                }
+                appRepo.compareAndSetStatus(a, seen, ApplicationStatus.WITHDRAWN);
+                if (status == ApplicationStatus.SUCCESSFUL) {
+                    Internship other = internshipMgr.findInternshipById(a.getInternshipId());
+                    if (other != null) internshipMgr.releaseSlot(other);
+                }
+                return OperationResult.ok("");
+            });
         }
 
-        appRepo.saveApplications();
-        System.out.println("✅ You have accepted the offer for " + selected.getInternshipId() + ".");
+        // Accepting an offer must be on disk before we confirm it
+        flush();
+        return OperationResult.ok("✅ You have accepted the offer for " + selected.getInternshipId() + ".", appId);
     }
 
     public void displayWithdrawableApplications(Student student) {
@@ -261,71 +376,102 @@ public class ApplicationManager {
     }
 
 
-    public void withdrawApplication(Student student, String appId) {
-        Application app = appRepo.getAllApplications().stream()
-                .filter(a -> a.getApplicationId().equalsIgnoreCase(appId)
-                        && a.getStudentId().equalsIgnoreCase(student.getUserId()))
-                .findFirst().orElse(null);
+    public OperationResult withdrawApplication(Student student, String appId) {
+        return studentLocks.call(student.getUserId(), () -> withdrawLocked(student, appId));
+    }
+
+    private OperationResult withdrawLocked(Student student, String appId) {
+        // A rep may review the application while the student withdraws it
+        return Retry.onConflict(() -> withdrawAttempt(student, appId));
+    }
+
+    private OperationResult withdrawAttempt(Student student, String appId) {
+        Application app = findStudentApplication(student, appId);
 
         if (app == null) {
-            System.out.println("Application not found.");
-            return;
+            return OperationResult.notFound("Application not found.");
         }
 
+        long seen = app.getVersion();
         Internship internship = internshipMgr.findInternshipById(app.getInternshipId());
         if (internship == null) {
-            System.out.println("Internship not found for this application.");
-            return;
+            return OperationResult.notFound("Internship not found for this application.");
         }
 
         //  Rule: Students can only withdraw from approved internships
         if (internship.getStatus() != InternshipStatus.APPROVED) {
-            System.out.println("You can only withdraw applications for approved internships.");
-            return;
+            return OperationResult.conflict("You can only withdraw applications for approved internships.");
         }
 
         //  Rule: Only pending applications can request withdrawal
         if (app.getStatus() != ApplicationStatus.PENDING) {
-            System.out.println("Only pending applications can be withdrawn.");
-            return;
+            return OperationResult.conflict("Only pending applications can be withdrawn.");
         }
 
         //  Mark as withdrawal requested
-        app.setStatus(ApplicationStatus.WITHDRAWAL_PENDING);
-        appRepo.saveApplications();
-        System.out.println("✅ Withdrawal request submitted. Awaiting staff approval.");
+        appRepo.compareAndSetStatus(app, seen, ApplicationStatus.WITHDRAWAL_PENDING);
+        return OperationResult.ok("✅ Withdrawal request submitted. Awaiting staff approval.", appId);
     }
 
     // --- WITHDRAWAL APPROVAL LOGIC ---
     public List<Application> getPendingWithdrawals() {
-        return getAllApplications().stream()
-                .filter(a -> a.getStatus() == ApplicationStatus.WITHDRAWAL_PENDING)
-                .toList();
+        return appRepo.getApplicationsByStatus(ApplicationStatus.WITHDRAWAL_PENDING);
     }
 
-    public void approveWithdrawal(Application application) {
-        application.setStatus(ApplicationStatus.WITHDRAWN);
-        saveApplications(); // ✅ persistence
+    public OperationResult approveWithdrawal(Application application) {
+        return decideWithdrawal(application, ApplicationStatus.WITHDRAWN, "✅ Withdrawal approved for ");
     }
 
-    public void rejectWithdrawal(Application application) {
-        application.setStatus(ApplicationStatus.PENDING);
-        saveApplications(); // ✅ persistence
+    public OperationResult rejectWithdrawal(Application application) {
+        return decideWithdrawal(application, ApplicationStatus.PENDING, "❌ Withdrawal rejected for ");
+    }
+
+    private OperationResult decideWithdrawal(Application a, ApplicationStatus decision, String message) {
+        return Retry.onConflict(() -> {
+            long seen = a.getVersion();
+            if (a.getStatus() != ApplicationStatus.WITHDRAWAL_PENDING) {
+                return OperationResult.conflict("⚠ No withdrawal request is pending for " + a.getApplicationId() + ".");
+            }
+            appRepo.compareAndSetStatus(a, seen, decision);
+            return OperationResult.ok(message + a.getStudentName(), a.getApplicationId());
+        });
     }
 
 
+    // --- SLOT LEDGERS ---
+    /**
+     * Rebuilds every internship's slot ledger from application statuses:
+     * SUCCESSFUL applications hold a reserved slot, ACCEPTED ones a confirmed slot.
+     * Called once after loading, since the stored "slots left" figure cannot tell the two apart.
+     */
+    public void rebuildSlotLedgers() {
+        Map<Internship, int[]> counts = new HashMap<>();
+        for (Internship i : internshipMgr.getAllInternships()) counts.put(i, new int[2]);
+
+        for (Application a : appRepo.getApplicationsByStatus(ApplicationStatus.SUCCESSFUL)) {
+            int[] c = counts.get(internshipMgr.findInternshipById(a.getInternshipId()));
+            if (c != null) c[0]++;
+        }
+        for (Application a : appRepo.getApplicationsByStatus(ApplicationStatus.ACCEPTED)) {
+            int[] c = counts.get(internshipMgr.findInternshipById(a.getInternshipId()));
+            if (c != null) c[1]++;
+        }
+
+        for (Map.Entry<Internship, int[]> e : counts.entrySet()) {
+            e.getKey().getSlotLedger().reset(e.getValue()[0], e.getValue()[1]);
+        }
+    }
+
+    // --- HELPER: Application owned by the given student, or null ---
+    private Application findStudentApplication(Student student, String appId) {
+        Application a = appRepo.findById(appId);
+        if (a == null || !a.getStudentId().equalsIgnoreCase(student.getUserId())) return null;
+        return a;
+    }
+
     // --- HELPER: Generate readable ID ---
     private String generateAppId() {
-        int max = 0;
-        for (Application a : appRepo.getAllApplications()) {
-            try {
-                if (a.getApplicationId().startsWith("APP")) {
-                    int num = Integer.parseInt(a.getApplicationId().substring(3));
-                    if (num > max) max = num;
-                }
-            } catch (Exception ignored) {}
-        }
-        return String.format("APP%03d", max + 1);
+        return ids.nextId(IdAllocator.APPLICATION); // e.g. APP001
     }
 
     public List<Application> getAllApplications() {
@@ -336,5 +482,11 @@ public class ApplicationManager {
         appRepo.saveApplications();
     }
 
+    /** Durability barrier: writes pending application and internship changes before returning */
+    public void flush() {
+        appRepo.flush();
+        internshipMgr.flush();
+    }
+
 
 }
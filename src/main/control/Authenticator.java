@@ -1,78 +1,98 @@
 package main.control;
 
-import main.data.DataLoader;
 import main.entity.CompanyRepresentative;
 import main.entity.User;
 import main.entity.enums.AccountStatus;
 import main.util.InputHandler;
 
 
+/**
+ * Authenticator - Checks credentials and opens / closes sessions
+ *
+ * Holds no "current user": every login gets its own session token from the
+ * SessionManager, and callers resolve the token to find out who is acting.
+ */
 public class Authenticator {
     private final UserManager userManager;
-    private User currentUser;
+    private final SessionManager sessions;
     private InputHandler inputHandler;
 
     public Authenticator(UserManager userManager) {
+        this(userManager, new SessionManager());
+    }
+
+    public Authenticator(UserManager userManager, SessionManager sessions) {
         this.userManager = userManager;
+        this.sessions = sessions;
         this.inputHandler = new InputHandler();
     }
 
-    // Attempt login (ID or Email depending on role)
-    public boolean login(String idOrEmail, String password) {
-        User user = null;
-
-        // --- Try finding by ID first ---
-        user = userManager.findUserById(idOrEmail);
+    public SessionManager getSessions() {
+        return sessions;
+    }
 
-        // --- If not found by ID, try finding by email (for company reps) ---
-        if (user == null) {
-            user = userManager.findUserByEmail(idOrEmail);
+    /**
+     * Attempt login (ID or Email depending on role).
+     *
+     * @return the new session's token, or null if the login was refused (the reason is printed)
+     */
+    public String login(String idOrEmail, String password) {
+        User user = userManager.getRepository().findByIdOrEmail(idOrEmail);
+        String error = checkCredentials(user, idOrEmail, password);
+        if (error != null) {
+            System.out.println(error);
+            return null;
         }
 
-        // --- If still not found, invalid credentials ---
+        System.out.println("Login successful. Welcome, " + user.getName() + "!");
+        return sessions.open(user);
+    }
+
+    /**
+     * Checks credentials without opening a session (HTTP Basic requests).
+     *
+     * @return the user, or null if the credentials are not accepted
+     */
+    public User authenticate(String idOrEmail, String password) {
+        User user = userManager.getRepository().findByIdOrEmail(idOrEmail);
+        return checkCredentials(user, idOrEmail, password) == null ? user : null;
+    }
+
+    // Login rules; returns the reason for refusing, or null if the user may log in
+    private String checkCredentials(User user, String idOrEmail, String password) {
+        // --- Found by ID first, then by email (for company reps); both are hash lookups ---
         if (user == null) {
-            System.out.println("Invalid credentials: No such user found.");
-            return false;
+            return "Invalid credentials: No such user found.";
         }
 
         // --- Verify password ---
         if (!user.getPassword().equals(password)) {
-            System.out.println("Incorrect password.");
-            return false;
+            return "Incorrect password.";
         }
 
         // --- Business rule: Company Rep must use email ---
         if (user instanceof CompanyRepresentative rep) {
             // If login input was not email but ID, block it
             if (!idOrEmail.equalsIgnoreCase(rep.getEmail())) {
-                System.out.println("Company Representatives must log in using their company email.");
-                return false;
+                return "Company Representatives must log in using their company email.";
             }
             if (rep.getAccountStatus() != AccountStatus.APPROVED) {
-                System.out.println("\nCurrent status: " + rep.getAccountStatus());
-                if(rep.getAccountStatus() == AccountStatus.REJECTED){
-                    System.out.println("Your account has been rejected");
-                    return false;
-                }
-                else{
-                    System.out.println("Your account has not been approved yet.");
-                    return false;
+                String status = "\nCurrent status: " + rep.getAccountStatus() + "\n";
+                if (rep.getAccountStatus() == AccountStatus.REJECTED) {
+                    return status + "Your account has been rejected";
                 }
+                return status + "Your account has not been approved yet.";
             }
         }
-
-        // --- Set current user ---
-        currentUser = user;
-        System.out.println("Login successful. Welcome, " + user.getName() + "!");
-        return true;
+        return null;
     }
 
 
     // Log out
-    public void logout() {
-        if (currentUser != null) {
-            System.out.println("Logged out: " + currentUser.getName());
-            currentUser = null;
+    public void logout(String sessionToken) {
+        User user = sessions.close(sessionToken);
+        if (user != null) {
+            System.out.println("Logged out: " + user.getName());
         } else {
             System.out.println("No user currently logged in.");
         }
@@ -87,8 +107,9 @@ public class Authenticator {
 
         String oldPw = inputHandler.readPassword("Enter current password: ");
         String newPw = inputHandler.readPassword("Enter new password: ");
-        if (newPw.length() < 4) {
-            System.out.println("⚠ Password too short. Minimum 4 characters.");
+        OperationResult rejected = UserManager.checkNewPassword(newPw);
+        if (rejected != null) {
+            rejected.print();
             return;
         }
         String confirmPw = inputHandler.readPassword("Confirm new password: ");
@@ -99,7 +120,7 @@ public class Authenticator {
         }
 
         if (currentUser.changePassword(oldPw, newPw)) {
-            DataLoader.updateUser(currentUser, userManager);
+            userManager.updateUser(currentUser);
             System.out.println("✅ Password updated successfully and saved.");
         } else {
             System.out.println("❌ Incorrect current password.");
@@ -107,8 +128,8 @@ public class Authenticator {
     }
 
 
-    // Get current logged-in user
-    public User getCurrentUser() {
-        return currentUser;
+    // The user logged in with this session, or null once it has ended or expired
+    public User getCurrentUser(String sessionToken) {
+        return sessions.resolve(sessionToken);
     }
 }
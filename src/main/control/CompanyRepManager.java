@@ -1,6 +1,6 @@
 package main.control;
 
-import main.data.DataLoader;
+import main.data.IdAllocator;
 import main.entity.CompanyRepresentative;
 import main.entity.enums.AccountStatus;
 
@@ -8,17 +8,34 @@ public class CompanyRepManager {
 
     private final UserManager userManager;
 
+    private final IdAllocator ids;
+
+    // REP IDs at or above this number are legacy System.currentTimeMillis() IDs (2001 onwards)
+    private static final long LEGACY_TIMESTAMP_ID = 1_000_000_000_000L;
+
     public CompanyRepManager(UserManager userManager) {
+        this(userManager, new IdAllocator());
+    }
+
+    public CompanyRepManager(UserManager userManager, IdAllocator ids) {
         this.userManager = userManager;
+        this.ids = ids;
+        // One scan at startup so new IDs continue after the loaded ones. Older reps were
+        // given REP + a millisecond timestamp; the sequence cannot reach those, so skip them
+        ids.seed(IdAllocator.COMPANY_REP, userManager.getRepository().getCompanyReps().stream()
+                .map(CompanyRepresentative::getUserId)
+                .filter(id -> IdAllocator.numberOf(IdAllocator.COMPANY_REP, id) < LEGACY_TIMESTAMP_ID)
+                .toList());
     }
 
-    public void registerNewRep(String name, String email, String company, String dept, String position) {
-        if (userManager.userExists(email)) {
-            System.out.println(" A representative with this email already exists.");
-            return;
+    // synchronized: the email check and the add must not interleave between two registrations
+    public synchronized OperationResult registerNewRep(String name, String email, String company, String dept,
+                                                       String position) {
+        if (userManager.emailExists(email)) {
+            return OperationResult.conflict(" A representative with this email already exists.");
         }
 
-        String repId = "REP" + System.currentTimeMillis();
+        String repId = ids.nextId(IdAllocator.COMPANY_REP); // e.g. REP006
         CompanyRepresentative rep = new CompanyRepresentative(
                 name,
                 repId,
@@ -30,9 +47,8 @@ public class CompanyRepManager {
                 AccountStatus.PENDING
         );
 
-        userManager.addUser(rep);
-        DataLoader.appendNewUser(rep);
-        System.out.println("✅ Company Representative registered successfully!");
-        System.out.println("Account status: PENDING approval by Career Centre Staff.");
+        userManager.registerUser(rep);
+        return OperationResult.ok("✅ Company Representative registered successfully!\n"
+                + "Account status: PENDING approval by Career Centre Staff.", repId);
     }
 }
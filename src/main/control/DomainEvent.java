@@ -0,0 +1,20 @@
+package main.control;
+
+import main.entity.Internship;
+
+/**
+ * DomainEvent - Something that happened to an internship
+ *
+ * InternshipManager publishes these on the application's EventBus after a change
+ * has been committed to the repository; a subscriber never sees a change that was
+ * rolled back. The internships they carry are safe to read from any thread: a
+ * published internship is never modified (see InternshipCatalog).
+ *
+ * Only events with a subscriber are defined. Persistence stays on the request path,
+ * since a request must not answer before its change is journaled.
+ */
+public sealed interface DomainEvent {
+
+    /** A new version of an internship was published; previous is null for a new posting */
+    record InternshipSaved(Internship previous, Internship current) implements DomainEvent {}
+}
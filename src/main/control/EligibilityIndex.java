@@ -0,0 +1,158 @@
+package main.control;
+
+import main.data.InternshipRepository;
+import main.entity.Internship;
+import main.entity.Student;
+import main.entity.enums.InternshipLevel;
+import main.entity.enums.InternshipStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * EligibilityIndex - The internships each cohort of students may browse and apply for
+ *
+ * RESPONSIBILITIES:
+ *  - Keep, per cohort (canonical major, year band), the approved and visible internships
+ *    whose major and level fit that cohort
+ *  - Update every cohort incrementally when an internship is approved, rejected,
+ *    shown or hidden (InternshipManager feeds it each published internship)
+ *  - Answer a student's listing in time proportional to the result, not the catalog
+ *
+ * A cohort's list is built from the catalog the first time one of its students asks,
+ * then maintained. Lists are copy-on-write: readers take one without locking.
+ * Updates are ordered by internship version, so a late update never overwrites a newer one.
+ *
+ * Slots are not part of the key: the ledger changes without a new catalog version,
+ * so internships that are full (see Internship.hasAvailableSlots) are skipped when read.
+ * The index starts over whenever the MajorMatcher's alias dictionary is reloaded.
+ */
+public class EligibilityIndex {
+
+    /** Years 1-2 may take BASIC internships only; year 3 and above any level */
+    public enum YearBand {
+        JUNIOR, SENIOR;
+
+        public static YearBand of(int yearOfStudy) {
+            return yearOfStudy <= 2 ? JUNIOR : SENIOR;
+        }
+
+        public boolean allows(InternshipLevel level) {
+            return this == SENIOR || level == InternshipLevel.BASIC;
+        }
+    }
+
+    private record Cohort(String major, YearBand band) {}
+
+    /** Every cohort built under one generation of the major dictionary */
+    private record State(int generation, Map<Cohort, List<Internship>> cohorts) {}
+
+    private final InternshipRepository internshipRepo;
+    private final MajorMatcher majors;
+    private volatile State state;
+
+    public EligibilityIndex(InternshipRepository internshipRepo, MajorMatcher majors) {
+        this.internshipRepo = internshipRepo;
+        this.majors = majors;
+        this.state = new State(majors.generation(), new ConcurrentHashMap<>());
+    }
+
+    // --- QUERIES ---
+    /** Approved, visible internships with free slots that the student's major and year allow */
+    public List<Internship> forStudent(Student student) {
+        List<Internship> cohort = cohort(student.getMajor(), YearBand.of(student.getYearOfStudy()));
+        List<Internship> open = new ArrayList<>(cohort.size());
+        for (Internship i : cohort) {
+            if (i.hasAvailableSlots()) open.add(i);
+        }
+        return open;
+    }
+
+    /** The student's whole cohort, including full internships; the list is not copied */
+    List<Internship> cohortOf(Student student) {
+        return cohort(student.getMajor(), YearBand.of(student.getYearOfStudy()));
+    }
+
+    /** The same rules for one internship, without building a cohort (e.g. for search results) */
+    public boolean isEligible(Student student, Internship i) {
+        return isOpen(i) && i.hasAvailableSlots()
+                && fits(student.getMajor(), YearBand.of(student.getYearOfStudy()), i);
+    }
+
+    private List<Internship> cohort(String major, YearBand band) {
+        State s = current();
+        Cohort key = new Cohort(major == null ? "" : major.trim().toLowerCase(), band);
+        List<Internship> list = s.cohorts().get(key);
+        return list != null ? list : build(s, key);
+    }
+
+    // First request from a cohort: one scan of the approved internships
+    private synchronized List<Internship> build(State s, Cohort key) {
+        List<Internship> existing = s.cohorts().get(key);
+        if (existing != null) return existing;
+
+        List<Internship> list = new ArrayList<>();
+        for (Internship i : internshipRepo.findByStatus(InternshipStatus.APPROVED)) {
+            if (isOpen(i) && fits(key.major(), key.band(), i)) list.add(i);
+        }
+        List<Internship> frozen = List.copyOf(list);
+        s.cohorts().put(key, frozen);
+        return frozen;
+    }
+
+    // --- UPDATES ---
+    /**
+     * Re-files the internship in every cohort, using the repository's current version
+     * of it; called after each published change.
+     */
+    public synchronized void update(Internship changed) {
+        Internship latest = internshipRepo.findById(changed.getInternshipId());
+        if (latest == null) return;
+        State s = current();
+
+        for (Map.Entry<Cohort, List<Internship>> e : s.cohorts().entrySet()) {
+            Cohort c = e.getKey();
+            List<Internship> list = e.getValue();
+            int at = indexOf(list, latest.getInternshipId());
+            if (at >= 0 && list.get(at).getVersion() > latest.getVersion()) continue; // already newer
+
+            boolean belongs = isOpen(latest) && fits(c.major(), c.band(), latest);
+            if (at < 0 && !belongs) continue;
+
+            List<Internship> next = new ArrayList<>(list);
+            if (at >= 0 && belongs) next.set(at, latest);
+            else if (at >= 0) next.remove(at);
+            else next.add(latest);
+            e.setValue(List.copyOf(next));
+        }
+    }
+
+    // A reloaded dictionary may change every cohort: start again
+    private State current() {
+        State s = state;
+        int generation = majors.generation();
+        if (s.generation() == generation) return s;
+        synchronized (this) {
+            if (state.generation() != generation) state = new State(generation, new ConcurrentHashMap<>());
+            return state;
+        }
+    }
+
+    // --- RULES (the same as the checks in ApplicationManager.applyForInternship) ---
+    private static boolean isOpen(Internship i) {
+        return i.getStatus() == InternshipStatus.APPROVED && i.isVisible();
+    }
+
+    private boolean fits(String studentMajor, YearBand band, Internship i) {
+        return band.allows(i.getLevel()) && majors.matches(studentMajor, i.getPreferredMajor());
+    }
+
+    private static int indexOf(List<Internship> list, String internshipId) {
+        for (int k = 0; k < list.size(); k++) {
+            if (list.get(k).getInternshipId().equalsIgnoreCase(internshipId)) return k;
+        }
+        return -1;
+    }
+}
@@ -1,25 +1,88 @@
 package main.control;
 
+import main.data.IdAllocator;
+import main.data.InternshipCatalog;
 import main.data.InternshipRepository;
+import main.data.SortKeys;
+import main.data.VersionConflictException;
 import main.entity.*;
 
 import main.entity.enums.InternshipLevel;
 import main.entity.enums.InternshipStatus;
+import main.entity.enums.SortOrder;
+import main.util.EventBus;
+import main.util.StripedLock;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
 
 public class InternshipManager {
 
     private final InternshipRepository internshipRepo;
     private static final int MAX_INTERNSHIPS_PER_REP = 5;
 
+    private final IdAllocator ids;
+    private final StripedLock repLocks = new StripedLock();
+    private final EventBus<DomainEvent> events;
+    private final MajorMatcher majors;
+    private final EligibilityIndex eligibility;
+    private final SearchIndex search;
+
     public InternshipManager(InternshipRepository internshipRepo) {
+        this(internshipRepo, new IdAllocator());
+    }
+
+    public InternshipManager(InternshipRepository internshipRepo, IdAllocator ids) {
+        this(internshipRepo, ids, EventBus.synchronous());
+    }
+
+    public InternshipManager(InternshipRepository internshipRepo, IdAllocator ids, EventBus<DomainEvent> events) {
+        this(internshipRepo, ids, events, new MajorMatcher());
+    }
+
+    public InternshipManager(InternshipRepository internshipRepo, IdAllocator ids, EventBus<DomainEvent> events,
+                             MajorMatcher majors) {
         this.internshipRepo = internshipRepo;
+        this.ids = ids;
+        this.events = events;
+        this.majors = majors;
+        this.eligibility = new EligibilityIndex(internshipRepo, majors);
+        this.search = new SearchIndex(internshipRepo.getAllInternships());
+        // Keep the indexes current as internships are created, edited, reviewed or toggled.
+        // Listings and applications rely on eligibility right after a change, so it updates inline;
+        // re-indexing the text runs on the bus's workers and search catches up a moment later
+        events.subscribe(DomainEvent.InternshipSaved.class, e -> eligibility.update(e.current()));
+        events.subscribeAsync(DomainEvent.InternshipSaved.class, e -> search.update(e.current()));
+        // One scan at startup so new IDs continue after the loaded ones
+        ids.seed(IdAllocator.INTERNSHIP,
+                internshipRepo.getAllInternships().stream().map(Internship::getInternshipId).toList());
+    }
+
+    public OperationResult createInternship(
+            String repId, String companyName,
+            String title, String description,
+            InternshipLevel level, String major,
+            String openingDate, String closingDate,
+            int slots
+    ) {
+        // Count-then-add must not interleave for one rep, or the posting limit could be exceeded
+        return repLocks.call(repId, () -> createLocked(repId, companyName, title, description,
+                level, major, openingDate, closingDate, slots));
     }
 
-    public void createInternship(
+    private OperationResult createLocked(
             String repId, String companyName,
             String title, String description,
             InternshipLevel level, String major,
@@ -28,24 +91,19 @@ public class InternshipManager {
     ) {
 
         //Check rep internship limit
-        long repCount = internshipRepo.getAllInternships().stream()
-                .filter(i -> i.getRepresentativeId().equalsIgnoreCase(repId))
-                .count();
+        int repCount = internshipRepo.countByRepresentative(repId);
 
         if (repCount >= MAX_INTERNSHIPS_PER_REP) {
-            System.out.println("You can only post up to " + MAX_INTERNSHIPS_PER_REP + " internships.");
-            return;
+            return OperationResult.conflict("You can only post up to " + MAX_INTERNSHIPS_PER_REP + " internships.");
         }
 
         // Validate inputs
         if (title.isBlank() || description.isBlank()) {
-            System.out.println("Title and description cannot be empty.");
-            return;
+            return OperationResult.fail("Title and description cannot be empty.");
         }
 
         if (slots <= 0) {
-            System.out.println("Number of slots must be positive.");
-            return;
+            return OperationResult.fail("Number of slots must be positive.");
         }
 
         // Auto-generate readable ID
@@ -64,24 +122,15 @@ public class InternshipManager {
 
         // Save to repository
         internshipRepo.addInternship(internship);
-        internshipRepo.saveInternships();
+        events.publish(new DomainEvent.InternshipSaved(null, internship));
 
-        System.out.println("✅Internship created successfully: " + newId);
+        return OperationResult.ok("✅Internship created successfully: " + newId, newId);
     }
 
 
     // --- HELPER: Generate Short Internship IDs ---
     private String generateInternshipId() {
-        int maxId = 0;
-        for (Internship i : internshipRepo.getAllInternships()) {
-            try {
-                if (i.getInternshipId().startsWith("INT")) {
-                    int num = Integer.parseInt(i.getInternshipId().substring(3));
-                    if (num > maxId) maxId = num;
-                }
-            } catch (NumberFormatException ignored) {}
-        }
-        return String.format("INT%03d", maxId + 1); // e.g. INT001
+        return ids.nextId(IdAllocator.INTERNSHIP); // e.g. INT001
     }
 
     // --- INTERNAL HELPER (used only for seeding) ---
@@ -90,136 +139,255 @@ public class InternshipManager {
             internship.setInternshipId(generateInternshipId());
         }
         internshipRepo.addInternship(internship);
-        internshipRepo.saveInternships();
+        eligibility.update(internship); // seeded rows may already be approved
+        search.update(internship);
     }
 
 
     // --- EDIT INTERNSHIP (Company Rep) ---
-    public void editInternship(
+    /** Edits the current version; if another change lands first, the rules are re-checked and it retries */
+    public OperationResult editInternship(
             String internshipId, String repId,
             String newTitle, String newDescription,
             InternshipLevel newLevel, String newMajor,
             String newOpenDate, String newCloseDate, int newSlots
+    ) {
+        return Retry.onConflict(() -> editAttempt(internshipId, repId, newTitle, newDescription,
+                newLevel, newMajor, newOpenDate, newCloseDate, newSlots, -1));
+    }
+
+    /** Edits only if the internship is still at expectedVersion, the version the rep was shown */
+    public OperationResult editInternship(
+            String internshipId, String repId,
+            String newTitle, String newDescription,
+            InternshipLevel newLevel, String newMajor,
+            String newOpenDate, String newCloseDate, int newSlots,
+            long expectedVersion
+    ) {
+        try {
+            return editAttempt(internshipId, repId, newTitle, newDescription,
+                    newLevel, newMajor, newOpenDate, newCloseDate, newSlots, expectedVersion);
+        } catch (VersionConflictException e) {
+            return OperationResult.conflict("⚠ " + e.getMessage() + " Reload it and try again.");
+        }
+    }
+
+    // expectedVersion < 0: whatever version is current when the edit starts
+    private OperationResult editAttempt(
+            String internshipId, String repId,
+            String newTitle, String newDescription,
+            InternshipLevel newLevel, String newMajor,
+            String newOpenDate, String newCloseDate, int newSlots,
+            long expectedVersion
     ) {
         Internship i = findInternshipById(internshipId);
 
         if (i == null) {
-            System.out.println(" ❌ Internship not found.");
-            return;
+            return OperationResult.notFound(" ❌ Internship not found.");
         }
 
         // Ownership check
         if (!i.getRepresentativeId().equalsIgnoreCase(repId)) {
-            System.out.println(" Access denied: You can only edit your own internships.");
-            return;
+            return OperationResult.forbidden(" Access denied: You can only edit your own internships.");
         }
 
         // Only editable when pending
         if (i.getStatus() != InternshipStatus.PENDING) {
-            System.out.println(" Cannot edit. Internship has already been " + i.getStatus());
-            return;
+            return OperationResult.conflict(" Cannot edit. Internship has already been " + i.getStatus());
         }
 
-        // Update
-        i.setTitle(newTitle);
-        i.setDescription(newDescription);
-        i.setLevel(newLevel);
-        i.setPreferredMajor(newMajor);
-        i.setOpeningDate(newOpenDate);
-        i.setClosingDate(newCloseDate);
-        i.setNumSlots(newSlots);
-
-        internshipRepo.saveInternships();
-        System.out.println("✅ Internship " + internshipId + " updated successfully.");
+        // Update a copy and publish it; readers keep seeing the old version until then.
+        // The repository rejects the copy if its version is no longer the current one
+        Internship edited = i.copy();
+        if (expectedVersion >= 0) edited.setVersion(expectedVersion);
+        edited.setTitle(newTitle);
+        edited.setDescription(newDescription);
+        edited.setLevel(newLevel);
+        edited.setPreferredMajor(newMajor);
+        edited.setOpeningDate(newOpenDate);
+        edited.setClosingDate(newCloseDate);
+        edited.setNumSlots(newSlots);
+
+        Internship published = internshipRepo.updateInternship(edited);
+        events.publish(new DomainEvent.InternshipSaved(i, published));
+        return OperationResult.ok("✅ Internship " + internshipId + " updated successfully.", internshipId);
     }
 
     // --- TOGGLE VISIBILITY (Company Rep) ---
-    public void toggleVisibilityForRep(String repId, String internshipId, boolean visible) {
+    public OperationResult toggleVisibilityForRep(String repId, String internshipId, boolean visible) {
+        return Retry.onConflict(() -> toggleAttempt(repId, internshipId, visible));
+    }
+
+    private OperationResult toggleAttempt(String repId, String internshipId, boolean visible) {
         Internship i = findInternshipById(internshipId);
 
         if (i == null) {
-            System.out.println("❌ Internship not found.");
-            return;
+            return OperationResult.notFound("❌ Internship not found.");
         }
 
         if (!i.getRepresentativeId().equalsIgnoreCase(repId)) {
-            System.out.println("❌ Access denied: You can only toggle visibility for your own internships.");
-            return;
+            return OperationResult.forbidden("❌ Access denied: You can only toggle visibility for your own internships.");
         }
 
         if (visible && i.getStatus() != InternshipStatus.APPROVED) {
-            System.out.println("❌ Only approved internships can be made visible.");
-            return;
+            return OperationResult.conflict("❌ Only approved internships can be made visible.");
         }
 
 
-        i.setVisible(visible);
-        internshipRepo.saveInternships();
+        Internship updated = internshipRepo.updateVisibility(i, visible);
+        events.publish(new DomainEvent.InternshipSaved(i, updated));
 
-        System.out.println("💡 Visibility for " + i.getTitle() + " set to " + (visible ? "ON" : "OFF"));
+        return OperationResult.ok("💡 Visibility for " + i.getTitle() + " set to " + (visible ? "ON" : "OFF"),
+                i.getInternshipId());
     }
 
     public List<Internship> getPendingInternships() {
-        return getAllInternships().stream()
-                .filter(i -> i.getStatus() == InternshipStatus.PENDING)
-                .toList();
+        return internshipRepo.findByStatus(InternshipStatus.PENDING);
+    }
+
+    /**
+     * Approves the version of the internship the reviewer saw. If it has been edited
+     * since, nothing changes and the reviewer is asked to look again (no automatic retry:
+     * the decision was made on the old content).
+     */
+    public OperationResult approveInternship(Internship seen) {
+        return review(seen, InternshipStatus.APPROVED, "✅ Internship approved: ");
+    }
+
+    public OperationResult rejectInternship(Internship seen) {
+        return review(seen, InternshipStatus.REJECTED, "❌ Internship rejected: ");
+    }
+
+    private OperationResult review(Internship seen, InternshipStatus decision, String message) {
+        Internship current = findInternshipById(seen.getInternshipId());
+        if (current == null) {
+            return OperationResult.notFound("❌ Internship not found.");
+        }
+        if (current.getStatus() != InternshipStatus.PENDING) {
+            return OperationResult.conflict("⚠ Internship " + current.getInternshipId() + " has already been "
+                    + current.getStatus() + ".");
+        }
+        try {
+            Internship reviewed = internshipRepo.updateStatus(seen, decision);
+            publishStatusChange(current, reviewed);
+            return OperationResult.ok(message + reviewed.getTitle(), reviewed.getInternshipId());
+        } catch (VersionConflictException e) {
+            return OperationResult.conflict("⚠ Internship " + seen.getInternshipId()
+                    + " was changed while you were reviewing it. Please review it again.");
+        }
+    }
+
+
+    // --- BULK REVIEW (Staff) ---
+    /** Approves the pending internships with the given IDs in one commit; one result per ID, in order */
+    public List<OperationResult> approveInternships(Collection<String> internshipIds) {
+        InternshipCatalog catalog = internshipRepo.snapshot();
+        List<Internship> seen = new ArrayList<>();
+        for (String id : internshipIds) {
+            Internship i = catalog.findById(id);
+            if (i != null) seen.add(i);
+        }
+        Iterator<OperationResult> reviewed = reviewInternships(seen, InternshipStatus.APPROVED).iterator();
+        List<OperationResult> results = new ArrayList<>(internshipIds.size());
+        for (String id : internshipIds) {
+            results.add(catalog.findById(id) == null
+                    ? OperationResult.notFound("❌ Internship not found: " + id).withId(id)
+                    : reviewed.next());
+        }
+        return results;
+    }
+
+    /** Approves every pending internship the filter accepts (see pendingMatching) in one commit */
+    public List<OperationResult> approveInternshipsMatching(Predicate<Internship> filter) {
+        List<Internship> seen = getPendingInternships().stream().filter(filter).toList();
+        return reviewInternships(seen, InternshipStatus.APPROVED);
+    }
+
+    /**
+     * Filter over pending internships for the bulk screens; a null or blank criterion
+     * matches anything. Company and major compare case-insensitively.
+     */
+    public static Predicate<Internship> pendingMatching(String company, InternshipLevel level, String major) {
+        String companyKey = company == null || company.isBlank() ? null : company.trim().toLowerCase();
+        String majorKey = major == null || major.isBlank() ? null : InternshipCatalog.canonicalMajor(major);
+        return i -> (companyKey == null || i.getCompanyName().trim().toLowerCase().equals(companyKey))
+                && (level == null || i.getLevel() == level)
+                && (majorKey == null || InternshipCatalog.canonicalMajor(i.getPreferredMajor()).equals(majorKey));
     }
 
-    public void approveInternship(Internship internship) {
-        internship.setStatus(InternshipStatus.APPROVED);
-        saveAllInternships();
+    /**
+     * Approves or rejects the given versions of several internships as one change
+     * (see InternshipRepository.updateStatuses): one catalog swap, one journal append.
+     * Internships that are no longer pending, or were edited since they were read,
+     * are left unchanged and reported; the rest are applied.
+     *
+     * @return one result per internship, in the order given
+     */
+    public List<OperationResult> reviewInternships(List<Internship> seen, InternshipStatus decision) {
+        if (decision != InternshipStatus.APPROVED && decision != InternshipStatus.REJECTED) {
+            throw new IllegalArgumentException("A review approves or rejects, not " + decision);
+        }
+        InternshipCatalog before = internshipRepo.snapshot();
+        Map<String, OperationResult> refused = new HashMap<>();
+        List<Internship> eligible = new ArrayList<>();
+        for (Internship i : seen) {
+            Internship current = before.findById(i.getInternshipId());
+            if (current == null) {
+                refused.put(key(i.getInternshipId()), OperationResult.notFound("❌ Internship not found."));
+            } else if (current.getStatus() != InternshipStatus.PENDING) {
+                refused.put(key(i.getInternshipId()), OperationResult.conflict("⚠ Internship " + current.getInternshipId()
+                        + " has already been " + current.getStatus() + "."));
+            } else {
+                eligible.add(i);
+            }
+        }
+
+        Map<String, Internship> published = new HashMap<>();
+        for (Internship next : internshipRepo.updateStatuses(eligible, decision)) {
+            published.put(key(next.getInternshipId()), next);
+            publishStatusChange(before.findById(next.getInternshipId()), next);
+        }
+
+        String verb = decision == InternshipStatus.APPROVED ? "✅ Internship approved: " : "❌ Internship rejected: ";
+        List<OperationResult> results = new ArrayList<>(seen.size());
+        for (Internship i : seen) {
+            String id = i.getInternshipId();
+            Internship next = published.remove(key(id));
+            OperationResult result = refused.get(key(id));
+            if (next != null) {
+                result = OperationResult.ok(verb + next.getTitle(), next.getInternshipId());
+            } else if (result == null) {
+                result = OperationResult.conflict("⚠ Internship " + id
+                        + " was changed while you were reviewing it. Please review it again.");
+            }
+            results.add(result.withId(id));
+        }
+        return results;
     }
 
-    public void rejectInternship(Internship internship) {
-        internship.setStatus(InternshipStatus.REJECTED);
-        saveAllInternships();
+    private static String key(String internshipId) {
+        return internshipId.trim().toLowerCase();
     }
 
+    private void publishStatusChange(Internship previous, Internship current) {
+        events.publish(new DomainEvent.InternshipSaved(previous, current));
+    }
 
     // --- UPDATE STATUS (For testing only) ---
     public void updateInternshipStatus(String internshipId, InternshipStatus newStatus) {
         Internship i = findInternshipById(internshipId);
         if (i != null) {
-            i.setStatus(newStatus);
-            internshipRepo.saveInternships();
+            publishStatusChange(i, internshipRepo.updateStatus(i, newStatus));
             System.out.println("Internship " + internshipId + " status updated to " + newStatus);
         } else {
             System.out.println("Internship not found.");
         }
     }
 
-    // --- HELPER: Flexible major matching ---
+    // --- HELPER: Flexible major matching (stored majors; see majorFilter for typed ones) ---
     public boolean majorsMatch(String studentMajor, String internshipMajor) {
-        if (studentMajor == null || internshipMajor == null) return false;
-
-        String s = studentMajor.trim().toLowerCase();
-        String i = internshipMajor.trim().toLowerCase();
-
-        // Common mappings
-        String[][] majorGroups = {
-                {"csc", "cs", "computer science", "computing", "comp sci"},
-                {"eee", "electrical", "electrical engineering", "electrical and electronic engineering"},
-                {"mech", "mechanical", "mechanical engineering", "mech eng"},
-                {"dsai", "data science and ai", "data science & ai"},
-                {"ce", "computer engineering"},
-                {"chem", "chemical", "chemical engineering"},
-                {"env", "environmental", "environmental engineering"},
-                {"mat", "materials", "materials science", "materials engineering"}
-        };
-
-        for (String[] group : majorGroups) {
-            boolean studentInGroup = false, internshipInGroup = false;
-
-            for (String alias : group) {
-                if (s.contains(alias)) studentInGroup = true;
-                if (i.contains(alias)) internshipInGroup = true;
-            }
-
-            if (studentInGroup && internshipInGroup) return true;
-        }
-
-        // fallback: substring similarity
-        return s.contains(i) || i.contains(s);
+        // Alias groups and the substring fallback, precomputed per distinct major (see MajorMatcher)
+        return majors.matches(studentMajor, internshipMajor);
     }
 
     // --- HELPER: Find by ID ---
@@ -232,27 +400,110 @@ public class InternshipManager {
         return internshipRepo.getAllInternships();
     }
 
+    public List<Internship> getInternshipsByRepresentative(String repId) {
+        return internshipRepo.findByRepresentative(repId);
+    }
+
+    // --- SLOT LEDGER (see SlotLedger) ---
+    public boolean reserveSlot(Internship internship) {
+        return internshipRepo.reserveSlot(internship);
+    }
+
+    public boolean confirmSlot(Internship internship) {
+        return internshipRepo.confirmSlot(internship);
+    }
+
+    public boolean releaseSlot(Internship internship) {
+        return internshipRepo.releaseSlot(internship);
+    }
+
+    /** Writes slot counts changed directly on the ledgers, in one commit */
+    public void persistSlots(Collection<Internship> internships) {
+        internshipRepo.persistSlots(internships);
+    }
+
     public void saveAllInternships() {
         internshipRepo.saveInternships();
     }
-    public void displayInternshipsForUser(User user, FilterSettings filters) {
-        List<Internship> all = getFilteredInternships(filters);
-        List<Internship> visibleList = new ArrayList<>();
 
-        boolean isFiltered = filters.isActive();
+    public void flush() {
+        internshipRepo.flush();
+    }
+    /**
+     * Internships the user may see, filtered and sorted:
+     * students see approved, visible internships with slots left that they are eligible for;
+     * reps see their own; staff see all.
+     */
+    public List<Internship> getInternshipsForUser(User user, FilterSettings filters) {
+        if (filters.getKeywords() != null) return searchInternshipsForUser(user, filters, Integer.MAX_VALUE);
+
+        InternshipCatalog catalog = internshipRepo.snapshot(); // one consistent version, no locking
+        Scope scope = scopeFor(user, catalog, filters);
+        return scope == null ? new ArrayList<>() : filterAndSort(catalog, scope, filters);
+    }
+
+    /**
+     * What one user may see: a candidate set to start from (narrowed by an index where
+     * possible) and the rule that decides membership on its own, so a listing may
+     * equally walk a sorted view of the whole catalog and keep what the rule accepts.
+     */
+    private record Scope(Collection<Internship> candidates, Predicate<Internship> rule) {}
 
+    private Scope scopeFor(User user, InternshipCatalog catalog, FilterSettings filters) {
         if (user instanceof Student s) {
-            // Students: only approved, visible, major-compatible, and eligible by level
-            for (Internship i : all) {
-                boolean visibleOk = i.isVisible() && i.getStatus() == InternshipStatus.APPROVED;
-                boolean majorOk = majorsMatch(s.getMajor(), i.getPreferredMajor());
-                boolean levelOk = (s.getYearOfStudy() <= 2 && i.getLevel() == InternshipLevel.BASIC)
-                        || (s.getYearOfStudy() >= 3); // Y3+ can see all levels
-
-                if (visibleOk && majorOk && levelOk)
-                    visibleList.add(i);
-            }
+            // Students: approved, visible, with slots left, and eligible by major and level
+            return new Scope(eligibility.cohortOf(s), i -> eligibility.isEligible(s, i));
+        } else if (user instanceof CompanyRepresentative rep) {
+            // Reps: only their own internships
+            return new Scope(catalog.findByRepresentative(rep.getUserId()),
+                    i -> i.getRepresentativeId().equalsIgnoreCase(rep.getUserId()));
+        } else if (user instanceof CareerCenterStaff) {
+            // Staff: can view all internships
+            return new Scope(candidatesFor(catalog, filters), i -> true);
+        }
+        return null;
+    }
 
+    /**
+     * Internships matching the filters' keywords, best match first, that the user may see
+     * (the same rules as above) and that pass the other filters; the sort order is ignored.
+     */
+    public List<Internship> searchInternshipsForUser(User user, FilterSettings filters, int limit) {
+        InternshipCatalog catalog = internshipRepo.snapshot();
+        Scope scope = scopeFor(user, catalog, filters);
+        if (scope == null) return new ArrayList<>();
+        Predicate<String> majorFilter = majorFilter(filters);
+        return search.search(filters.getKeywords(), catalog::findById,
+                i -> scope.rule().test(i) && passesFilters(catalog, i, filters, majorFilter), limit);
+    }
+
+    public void displayInternshipsForUser(User user, FilterSettings filters) {
+        printListing(user, filters, getInternshipsForUser(user, filters), true);
+    }
+
+    /**
+     * Prints one page of the user's listing; pass null for the first page.
+     * @return the cursor for the next page, or null after the last one
+     */
+    public String displayInternshipPage(User user, FilterSettings filters, int pageSize, String cursor) {
+        Page<Internship> page = getInternshipPage(user, filters, pageSize, cursor);
+        printListing(user, filters, page.items(), cursor == null);
+        return page.nextCursor();
+    }
+
+    // Headings and empty-listing messages only come with the first page
+    private void printListing(User user, FilterSettings filters, List<Internship> visibleList, boolean firstPage) {
+        if (!firstPage) {
+            if (user instanceof Student) visibleList.forEach(i -> System.out.println(i.toStudentView()));
+            else visibleList.forEach(System.out::println);
+            return;
+        }
+
+        boolean isFiltered = filters.isActive();
+        if (filters.getKeywords() != null && !visibleList.isEmpty())
+            System.out.println("\n🔎 Best matches for \"" + filters.getKeywords() + "\" first.");
+
+        if (user instanceof Student) {
             if (visibleList.isEmpty()) {
                 System.out.println("No internships available for your criteria.");
                 return;
@@ -263,14 +514,7 @@ public class InternshipManager {
             for (Internship i : visibleList) {
                 System.out.println(i.toStudentView());
             }
-        } else if (user instanceof CompanyRepresentative rep) {
-            // Reps: only their own internships
-            for (Internship i : all) {
-                if (i.getRepresentativeId().equalsIgnoreCase(rep.getUserId())) {
-                    visibleList.add(i);
-                }
-            }
-
+        } else if (user instanceof CompanyRepresentative) {
             if (visibleList.isEmpty()) {
                 if(isFiltered) System.out.println("No internships matching your filters");
                 else System.out.println("You haven’t created any internships yet.");
@@ -282,7 +526,7 @@ public class InternshipManager {
             visibleList.forEach(System.out::println);
 
         } else if (user instanceof CareerCenterStaff) {
-            // Staff: can view all internships
+            List<Internship> all = visibleList;
             if (all.isEmpty()) {
                 if(isFiltered) System.out.println("No internships matching your filters");
                 else System.out.println("No internships in the system.");
@@ -295,51 +539,222 @@ public class InternshipManager {
         }
     }
 
+    // --- PAGED LISTING ---
+    public static final int DEFAULT_PAGE_SIZE = 10;
+
+    /**
+     * One page of getInternshipsForUser: the same internships in the same order,
+     * pageSize at a time. Pass null as the cursor for the first page, then each
+     * page's nextCursor.
+     *
+     * When the user's candidates are a large part of the catalog, the page is read off
+     * the catalog's sorted view from the cursor onwards and stops once it is full, so
+     * its cost depends on the page size. Smaller candidate sets are scanned keeping only
+     * the first pageSize + 1 (a bounded heap): O(candidates * log pageSize) time and
+     * O(pageSize) memory.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or from another sort order
+     */
+    public Page<Internship> getInternshipPage(User user, FilterSettings filters, int pageSize, String cursor) {
+        if (pageSize <= 0) throw new IllegalArgumentException("Page size must be positive.");
+        if (filters.getKeywords() != null) return searchPage(user, filters, pageSize, cursor);
+
+        SortOrder order = SortOrder.of(filters.getSortBy());
+        SortKeys after = cursor == null ? null : decodePosition(cursor, order);
+        InternshipCatalog catalog = internshipRepo.snapshot();
+        Scope scope = scopeFor(user, catalog, filters);
+        if (scope == null) return new Page<>(new ArrayList<>(), null);
+        Predicate<String> majorFilter = majorFilter(filters);
+
+        List<Internship> items = new ArrayList<>(pageSize + 1);
+        if (walksSortedView(catalog, scope)) {
+            List<Internship> rest = after == null ? catalog.sorted(order) : catalog.sortedAfter(order, after);
+            for (Internship i : rest) {
+                if (scope.rule().test(i) && passesFilters(catalog, i, filters, majorFilter)) items.add(i);
+                if (items.size() > pageSize) break;
+            }
+        } else {
+            Comparator<SortKeys> byKeys = SortKeys.comparator(order);
+            Comparator<Internship> byOrder = (a, b) -> byKeys.compare(catalog.sortKeys(a), catalog.sortKeys(b));
+            // Max-heap of the first pageSize + 1; the extra one only shows that there is a next page
+            PriorityQueue<Internship> heap = new PriorityQueue<>(pageSize + 1, byOrder.reversed());
+            for (Internship i : scope.candidates()) {
+                if (after != null && byKeys.compare(catalog.sortKeys(i), after) <= 0) continue;
+                if (heap.size() > pageSize && byOrder.compare(i, heap.peek()) >= 0) continue;
+                if (!scope.rule().test(i) || !passesFilters(catalog, i, filters, majorFilter)) continue;
+                heap.add(i);
+                if (heap.size() > pageSize + 1) heap.poll();
+            }
+            items.addAll(heap);
+            items.sort(byOrder);
+        }
+
+        boolean more = items.size() > pageSize;
+        if (more) items.remove(pageSize);
+        String next = more ? encodePosition(order, catalog.sortKeys(items.get(pageSize - 1))) : null;
+        return new Page<>(items, next);
+    }
+
+    // Relevance has no key to resume from, so a search cursor holds the number of results already shown
+    private Page<Internship> searchPage(User user, FilterSettings filters, int pageSize, String cursor) {
+        int offset = 0;
+        if (cursor != null) {
+            try {
+                offset = Integer.parseInt(decodeCursor(cursor, RELEVANCE)[0]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor for this listing.");
+            }
+        }
+        List<Internship> ranked = searchInternshipsForUser(user, filters, offset + pageSize + 1);
+        if (ranked.size() <= offset) return new Page<>(new ArrayList<>(), null);
 
-    public List<Internship> getFilteredInternships(FilterSettings filters) {
-        List<Internship> result = new ArrayList<>();
+        boolean more = ranked.size() > offset + pageSize;
+        List<Internship> items = new ArrayList<>(ranked.subList(offset, Math.min(ranked.size(), offset + pageSize)));
+        return new Page<>(items, more ? encodeCursor(RELEVANCE, String.valueOf(offset + pageSize)) : null);
+    }
+
+    private static final String RELEVANCE = "relevance";
+
+    // Walking the sorted view pays off once the candidates are a sizeable share of the catalog
+    private static boolean walksSortedView(InternshipCatalog catalog, Scope scope) {
+        return scope.candidates().size() * 4L >= catalog.size();
+    }
+
+    // A position cursor holds the last item's keys: ID, title collation key (hex), opening and closing day
+    private static String encodePosition(SortOrder order, SortKeys k) {
+        return encodeCursor(order.sortBy(), k.id(), HexFormat.of().formatHex(k.title().getBytes(StandardCharsets.ISO_8859_1)),
+                String.valueOf(k.openingDay()), String.valueOf(k.closingDay()));
+    }
+
+    private static SortKeys decodePosition(String cursor, SortOrder order) {
+        String[] p = decodeCursor(cursor, order.sortBy());
+        try {
+            return new SortKeys(p[0], new String(HexFormat.of().parseHex(p[1]), StandardCharsets.ISO_8859_1),
+                    Integer.parseInt(p[2]), Integer.parseInt(p[3]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor for this listing.");
+        }
+    }
+
+    private static String encodeCursor(String order, String... position) {
+        String raw = order + "\n" + String.join("\n", position);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
 
-        for (Internship i : internshipRepo.getAllInternships()) {
+    private static String[] decodeCursor(String cursor, String order) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", -1);
+        } catch (IllegalArgumentException e) {
+            parts = new String[0];
+        }
+        if (parts.length < 2 || !parts[0].equals(order)) {
+            throw new IllegalArgumentException("Invalid cursor for this listing.");
+        }
+        return Arrays.copyOfRange(parts, 1, parts.length);
+    }
+
+    public List<Internship> getFilteredInternships(FilterSettings filters) {
+        InternshipCatalog catalog = internshipRepo.snapshot();
+        return filterAndSort(catalog, new Scope(candidatesFor(catalog, filters), i -> true), filters);
+    }
 
-            // --- Filter by Status ---
-            if (filters.getStatus() != null && i.getStatus() != filters.getStatus())
-                continue;
+    // --- HELPER: Narrowest indexed candidate set for the active filters (all from one catalog version) ---
+    private Collection<Internship> candidatesFor(InternshipCatalog catalog, FilterSettings filters) {
+        Collection<Internship> best = null;
 
-            // --- Filter by Major ---
-            if (filters.getPreferredMajor() != null
-                    && !majorsMatch(filters.getPreferredMajor(), i.getPreferredMajor()))
-                continue;
+        if (filters.getStatus() != null)
+            best = catalog.findByStatus(filters.getStatus());
 
-            // --- Filter by Level ---
-            if (filters.getLevel() != null && i.getLevel() != filters.getLevel())
-                continue;
+        if (filters.getLevel() != null) {
+            List<Internship> byLevel = catalog.findByLevel(filters.getLevel());
+            if (best == null || byLevel.size() < best.size()) best = byLevel;
+        }
 
-            // --- Filter by Visibility ---
-            if (filters.getVisible() != null && i.isVisible() != filters.getVisible())
-                continue;
+        if (filters.getPreferredMajor() != null) {
+            List<Internship> byMajor = catalog.findByMajorMatching(majorFilter(filters));
+            if (best == null || byMajor.size() < best.size()) best = byMajor;
+        }
 
-            result.add(i);
+        if (filters.getClosingWithinDays() != null) {
+            LocalDate today = LocalDate.now();
+            List<Internship> closing = catalog.findClosingBetween(today, today.plusDays(filters.getClosingWithinDays()));
+            if (best == null || closing.size() < best.size()) best = closing;
         }
 
-        // --- Sorting ---
-        String sortBy = filters.getSortBy() == null ? "" : filters.getSortBy();
-        switch (sortBy) {
-            case "closingDate" -> result.sort(Comparator.comparing(Internship::getClosingDate, String.CASE_INSENSITIVE_ORDER));
-            case "openingDate" -> result.sort(Comparator.comparing(Internship::getOpeningDate, String.CASE_INSENSITIVE_ORDER));
-            default -> result.sort(Comparator.comparing(i -> i.getTitle().toLowerCase())); // alphabetical default
+        return best != null ? best : catalog.all();
+    }
+
+    // Already in order when read off a sorted view; a small candidate set is sorted by its precomputed keys
+    private List<Internship> filterAndSort(InternshipCatalog catalog, Scope scope, FilterSettings filters) {
+        SortOrder order = SortOrder.of(filters.getSortBy());
+        Predicate<String> majorFilter = majorFilter(filters);
+        List<Internship> result = new ArrayList<>();
+
+        if (walksSortedView(catalog, scope)) {
+            for (Internship i : catalog.sorted(order)) {
+                if (scope.rule().test(i) && passesFilters(catalog, i, filters, majorFilter)) result.add(i);
+            }
+            return result;
         }
 
+        for (Internship i : scope.candidates()) {
+            if (scope.rule().test(i) && passesFilters(catalog, i, filters, majorFilter)) result.add(i);
+        }
+        // --- Sorting (the same order as the sorted views and the paged listing) ---
+        Comparator<SortKeys> byKeys = SortKeys.comparator(order);
+        result.sort((a, b) -> byKeys.compare(catalog.sortKeys(a), catalog.sortKeys(b)));
         return result;
     }
+
+    // The filter's major as typed, resolved once per listing and never added to the MajorMatcher; null if unset
+    private Predicate<String> majorFilter(FilterSettings filters) {
+        return filters.getPreferredMajor() == null ? null : majors.matcherFor(filters.getPreferredMajor());
+    }
+
+    private boolean passesFilters(InternshipCatalog catalog, Internship i, FilterSettings filters,
+                                  Predicate<String> majorFilter) {
+        // --- Filter by Status ---
+        if (filters.getStatus() != null && i.getStatus() != filters.getStatus())
+            return false;
+
+        // --- Filter by Major ---
+        if (majorFilter != null && !majorFilter.test(i.getPreferredMajor()))
+            return false;
+
+        // --- Filter by Level ---
+        if (filters.getLevel() != null && i.getLevel() != filters.getLevel())
+            return false;
+
+        // --- Filter by Visibility ---
+        if (filters.getVisible() != null && i.isVisible() != filters.getVisible())
+            return false;
+
+        // --- Filter by Closing Date (from today to N days ahead) ---
+        if (filters.getClosingWithinDays() != null) {
+            long today = LocalDate.now().toEpochDay();
+            int closing = catalog.sortKeys(i).closingDay();
+            return closing >= today && closing <= today + filters.getClosingWithinDays();
+        }
+        return true;
+    }
     public void generateReport(String statusFilter, String majorFilter, String levelFilter) {
         System.out.println("\n=== INTERNSHIP CREATION REPORT ===");
 
-        List<Internship> internships = getAllInternships();
+        List<Internship> internships;
+        try {
+            internships = (statusFilter != null)
+                    ? internshipRepo.findByStatus(InternshipStatus.valueOf(statusFilter.toUpperCase()))
+                    : getAllInternships();
+        } catch (IllegalArgumentException e) {
+            internships = List.of();
+        }
 
         // Apply filters
+        Predicate<String> majorTest = majorFilter == null ? null : majors.matcherFor(majorFilter);
         List<Internship> filtered = internships.stream()
                 .filter(i -> (statusFilter == null || i.getStatus().name().equalsIgnoreCase(statusFilter)))
-                .filter(i -> (majorFilter == null || majorsMatch(i.getPreferredMajor(), majorFilter)))
+                .filter(i -> (majorTest == null || majorTest.test(i.getPreferredMajor())))
                 .filter(i -> (levelFilter == null || i.getLevel().name().equalsIgnoreCase(levelFilter)))
                 .toList();
 
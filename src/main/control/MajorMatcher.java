@@ -0,0 +1,207 @@
+package main.control;
+
+import main.data.FileHandler;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * MajorMatcher - Decides whether a student's major fits an internship's preferred major
+ *
+ * RESPONSIBILITIES:
+ *  - Normalize each distinct stored major (internships', students') once into a Major:
+ *    an int ID plus the set of alias groups it belongs to (a bit mask)
+ *  - Match two majors with integer and bit operations instead of string scans
+ *  - Load the alias groups from a dictionary file, and reload them on request
+ *
+ * MATCHING RULES (unchanged from the original string version):
+ *  - Two majors match if some alias group has an alias inside each of them,
+ *    e.g. "Computer Science" and "CS" (group csc / cs / computer science / ...)
+ *  - Otherwise they match if one contains the other ("Business" / "Business Analytics")
+ * The second rule is computed once per pair of distinct majors, when the later of the
+ * two is first seen, and kept as a bit in that major's BitSet.
+ *
+ * Typed text (a major filter from the menus or the HTTP API) goes through matcherFor,
+ * which never adds it to the table: the table only grows with the majors in the data.
+ *
+ * DICTIONARY FILE (CSV): group,aliases  — aliases separated by '|', e.g.
+ *   computer science,csc|cs|computer science|computing|comp sci
+ * Without the file the built-in groups below are used. At most 64 groups.
+ */
+public class MajorMatcher {
+
+    /** Built-in alias groups (the same as the shipped data/major_aliases.csv) */
+    public static final String[][] DEFAULT_GROUPS = {
+            {"csc", "cs", "computer science", "computing", "comp sci"},
+            {"eee", "electrical", "electrical engineering", "electrical and electronic engineering"},
+            {"mech", "mechanical", "mechanical engineering", "mech eng"},
+            {"dsai", "data science and ai", "data science & ai"},
+            {"ce", "computer engineering"},
+            {"chem", "chemical", "chemical engineering"},
+            {"env", "environmental", "environmental engineering"},
+            {"mat", "materials", "materials science", "materials engineering"}
+    };
+
+    /** A normalized major. related holds the IDs of earlier majors that contain it or that it contains. */
+    public record Major(int id, String name, long groups, BitSet related) {}
+
+    /**
+     * One dictionary version with the majors normalized under it. Replaced as a whole
+     * on reload, so a lookup never mixes two versions of the alias groups.
+     */
+    private static final class Table {
+        final String[][] groups;
+        final int generation;
+        final Map<String, Major> byRaw = new ConcurrentHashMap<>();   // as written, e.g. " Computer Science"
+        final Map<String, Major> byName = new ConcurrentHashMap<>();  // normalized
+        final List<Major> all = new ArrayList<>();                    // by ID; guarded by the Table
+
+        Table(String[][] groups, int generation) {
+            this.groups = groups;
+            this.generation = generation;
+        }
+    }
+
+    private final String filePath; // null: built-in groups only
+    private volatile Table table;
+
+    /** A matcher with the built-in alias groups */
+    public MajorMatcher() {
+        this(null);
+    }
+
+    /** A matcher reading its alias groups from the dictionary file, if it exists */
+    public MajorMatcher(String filePath) {
+        this.filePath = filePath;
+        this.table = new Table(readGroups(), 0);
+    }
+
+    // --- MATCHING ---
+    public boolean matches(String studentMajor, String internshipMajor) {
+        Table t = table;
+        Major s = lookup(t, studentMajor);
+        Major i = lookup(t, internshipMajor);
+        return s != null && i != null && matches(s, i);
+    }
+
+    public static boolean matches(Major a, Major b) {
+        if (a.id() == b.id() || (a.groups() & b.groups()) != 0) return true;
+        return a.id() > b.id() ? a.related().get(b.id()) : b.related().get(a.id());
+    }
+
+    /**
+     * A test of stored majors against typed text, e.g. a filter. The text is normalized once,
+     * here, and not kept; each major tested costs one table lookup and two substring checks.
+     */
+    public Predicate<String> matcherFor(String text) {
+        Table t = table;
+        String name = text.trim().toLowerCase();
+        Major known = t.byName.get(name);
+        if (known != null) {
+            return major -> {
+                Major m = lookup(t, major);
+                return m != null && matches(known, m);
+            };
+        }
+        long groups = groupsOf(t.groups, name);
+        return major -> {
+            Major m = lookup(t, major);
+            return m != null && ((groups & m.groups()) != 0 || name.contains(m.name()) || m.name().contains(name));
+        };
+    }
+
+    /** The normalized major for the string, or null for null; the string is kept in the table */
+    public Major normalize(String major) {
+        return lookup(table, major);
+    }
+
+    private static Major lookup(Table t, String raw) {
+        if (raw == null) return null;
+        Major m = t.byRaw.get(raw);
+        return m != null ? m : intern(t, raw);
+    }
+
+    private static Major intern(Table t, String raw) {
+        synchronized (t) {
+            String name = raw.trim().toLowerCase();
+            Major m = t.byName.get(name);
+            if (m == null) {
+                m = new Major(t.all.size(), name, groupsOf(t.groups, name), relatedTo(t.all, name));
+                t.all.add(m);
+                t.byName.put(name, m);
+            }
+            t.byRaw.put(raw, m);
+            return m;
+        }
+    }
+
+    private static long groupsOf(String[][] groups, String name) {
+        long mask = 0;
+        for (int g = 0; g < groups.length; g++) {
+            for (String alias : groups[g]) {
+                if (name.contains(alias)) {
+                    mask |= 1L << g;
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    private static BitSet relatedTo(List<Major> earlier, String name) {
+        BitSet related = new BitSet();
+        for (Major other : earlier) {
+            if (name.contains(other.name()) || other.name().contains(name)) related.set(other.id());
+        }
+        return related;
+    }
+
+    // --- DICTIONARY ---
+    /**
+     * Re-reads the dictionary file and starts a fresh table; majors are normalized
+     * again under the new groups as they are next used.
+     *
+     * @return the number of alias groups now in use
+     */
+    public synchronized int reload() {
+        Table next = new Table(readGroups(), table.generation + 1);
+        table = next;
+        return next.groups.length;
+    }
+
+    /**
+     * Changes on every reload. Major IDs and match results hold within one generation,
+     * so anything built from them (e.g. EligibilityIndex) starts over when it moves on.
+     */
+    public int generation() {
+        return table.generation;
+    }
+
+    public int groupCount() {
+        return table.groups.length;
+    }
+
+    private String[][] readGroups() {
+        if (filePath == null || !new File(filePath).exists()) return DEFAULT_GROUPS;
+
+        List<String[]> groups = new ArrayList<>();
+        for (String[] row : FileHandler.readCSV(filePath)) {
+            if (row.length < 2 || row[1].isBlank()) continue;
+            List<String> aliases = new ArrayList<>();
+            for (String alias : row[1].split("\\|")) {
+                if (!alias.isBlank()) aliases.add(alias.trim().toLowerCase());
+            }
+            if (!aliases.isEmpty()) groups.add(aliases.toArray(new String[0]));
+        }
+        if (groups.size() > Long.SIZE) {
+            throw new IllegalArgumentException(filePath + " has " + groups.size()
+                    + " alias groups; at most " + Long.SIZE + " are supported.");
+        }
+        return groups.toArray(new String[0][]);
+    }
+}
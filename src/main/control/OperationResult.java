@@ -0,0 +1,63 @@
+package main.control;
+
+/**
+ * OperationResult - Outcome of a user action carried out by a manager
+ *
+ * Managers decide and return; the boundary (console menus or the HTTP API)
+ * decides how to show the message.
+ *
+ * @param success whether the action was carried out
+ * @param message text for the user, in the same words the console has always shown
+ * @param id      ID of the entity created or changed, if any (e.g. a new application)
+ * @param failure why the action was refused; null on success
+ */
+public record OperationResult(boolean success, String message, String id, Failure failure) {
+
+    /** Why an action was refused (the HTTP API answers 400 / 403 / 404 / 409) */
+    public enum Failure {
+        INVALID,   // the input itself is wrong
+        FORBIDDEN, // the caller may not do this
+        NOT_FOUND, // the entity does not exist
+        CONFLICT   // the entity's current state does not allow it, or it changed meanwhile
+    }
+
+    public OperationResult {
+        if (!success && failure == null) failure = Failure.INVALID;
+        if (success) failure = null;
+    }
+
+    public static OperationResult ok(String message) {
+        return new OperationResult(true, message, null, null);
+    }
+
+    public static OperationResult ok(String message, String id) {
+        return new OperationResult(true, message, id, null);
+    }
+
+    public static OperationResult fail(String message) {
+        return new OperationResult(false, message, null, Failure.INVALID);
+    }
+
+    public static OperationResult forbidden(String message) {
+        return new OperationResult(false, message, null, Failure.FORBIDDEN);
+    }
+
+    public static OperationResult notFound(String message) {
+        return new OperationResult(false, message, null, Failure.NOT_FOUND);
+    }
+
+    public static OperationResult conflict(String message) {
+        return new OperationResult(false, message, null, Failure.CONFLICT);
+    }
+
+    /** The same outcome, reported against another entity ID */
+    public OperationResult withId(String id) {
+        return new OperationResult(success, message, id, failure);
+    }
+
+    /** Prints the message to the console; returns the result for chaining */
+    public OperationResult print() {
+        if (message != null && !message.isEmpty()) System.out.println(message);
+        return this;
+    }
+}
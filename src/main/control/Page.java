@@ -0,0 +1,20 @@
+package main.control;
+
+import java.util.List;
+
+/**
+ * Page - One page of a listing, and where the next one starts
+ *
+ * The cursor is opaque: pass it back unchanged to get the following page.
+ * It records the last item shown rather than a position, so items added or
+ * removed between requests neither repeat nor skip entries already paged past.
+ *
+ * @param items      the items on this page, in listing order
+ * @param nextCursor cursor for the next page, or null if this is the last one
+ */
+public record Page<T>(List<T> items, String nextCursor) {
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
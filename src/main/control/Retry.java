@@ -0,0 +1,32 @@
+package main.control;
+
+import main.data.VersionConflictException;
+
+import java.util.function.Supplier;
+
+/**
+ * Retry - Re-runs an optimistic operation that lost a version race
+ *
+ * The operation must re-read whatever it checks on every attempt, so a retry
+ * applies the business rules to the newer state (and usually fails them
+ * cleanly, e.g. "no longer pending"), rather than repeating a stale write.
+ */
+final class Retry {
+
+    static final int MAX_ATTEMPTS = 3;
+
+    private Retry() {}
+
+    static OperationResult onConflict(Supplier<OperationResult> attempt) {
+        for (int n = 1; ; n++) {
+            try {
+                return attempt.get();
+            } catch (VersionConflictException e) {
+                if (n >= MAX_ATTEMPTS) {
+                    return OperationResult.conflict("⚠ " + e.getMessage() + " Please try again.");
+                }
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
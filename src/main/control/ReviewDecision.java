@@ -0,0 +1,16 @@
+package main.control;
+
+/**
+ * ReviewDecision - A company representative's decision on one application,
+ * as submitted in a batch to ApplicationManager.reviewApplications.
+ */
+public record ReviewDecision(String applicationId, boolean approve) {
+
+    public static ReviewDecision approve(String applicationId) {
+        return new ReviewDecision(applicationId, true);
+    }
+
+    public static ReviewDecision reject(String applicationId) {
+        return new ReviewDecision(applicationId, false);
+    }
+}
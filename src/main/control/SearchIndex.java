@@ -0,0 +1,343 @@
+package main.control;
+
+import main.entity.Internship;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * SearchIndex - Keyword search over internship titles, descriptions and company names
+ *
+ * RESPONSIBILITIES:
+ *  - Split each internship's text into lower-case terms and keep, per term, the
+ *    internships containing it and how often (an inverted index)
+ *  - Rank multi-term queries with BM25: rare terms count more than common ones,
+ *    repeated terms count with diminishing returns, long descriptions are not favoured
+ *  - Update incrementally as internships are created and edited
+ *    (InternshipManager feeds it each published internship from an asynchronous
+ *    event subscriber, so results may trail a change by the bus's backlog)
+ *
+ * A query touches only the postings of its own terms, never the whole catalog.
+ * An internship matches if it contains any of the terms; more matching terms rank higher.
+ * Hits are returned as the caller's current version of each internship (looked up by
+ * ID), so an entry that trails a change is never returned or filtered as it was.
+ *
+ * An edited internship gets a new entry and its old one is marked dead; dead entries
+ * are skipped by queries and dropped when they outnumber the live ones.
+ * Readers share a read lock; updates take the write lock.
+ */
+public final class SearchIndex {
+
+    // BM25 parameters: term-frequency saturation and length normalization (the usual values)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into",
+            "is", "it", "of", "on", "or", "our", "the", "to", "we", "will", "with", "you", "your");
+
+    /**
+     * The internships containing one term, in the order they were indexed (ascending doc).
+     * Each entry carries its doc's length so a query reads the arrays front to back;
+     * a dead entry has frequency 0.
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int[] lengths = new int[4];
+        int size;
+        int live; // entries whose internship is still current
+
+        void add(int doc, int freq, int length) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            lengths[size++] = length;
+            live++;
+        }
+
+        void kill(int doc) {
+            int k = Arrays.binarySearch(docs, 0, size, doc);
+            if (k >= 0 && freqs[k] != 0) {
+                freqs[k] = 0;
+                live--;
+            }
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> docById = new HashMap<>(); // lower-case internship ID -> doc
+    private final List<Internship> docs = new ArrayList<>();      // by doc; null once dead
+    private final List<String[]> docTerms = new ArrayList<>();    // distinct terms, by doc
+    private int[] lengths = new int[16];                          // terms in each doc
+    private long totalLength;
+    private int dead;
+
+    public SearchIndex() {}
+
+    public SearchIndex(Collection<Internship> internships) {
+        for (Internship i : internships) update(i);
+    }
+
+    // --- UPDATES ---
+    /** Indexes the internship, replacing an older version of it; a stale version is ignored */
+    public void update(Internship internship) {
+        String key = internship.getInternshipId().toLowerCase();
+        lock.writeLock().lock();
+        try {
+            Integer existing = docById.get(key);
+            if (existing != null) {
+                Internship current = docs.get(existing);
+                if (current.getVersion() > internship.getVersion()) return;
+                if (sameText(current, internship)) {
+                    docs.set(existing, internship); // e.g. approved or toggled: terms unchanged
+                    return;
+                }
+                remove(existing);
+            }
+            docById.put(key, add(internship));
+            if (dead > 1024 && dead > docById.size()) compact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int add(Internship internship) {
+        Map<String, Integer> freqs = new HashMap<>();
+        int length = 0;
+        for (String field : fields(internship)) {
+            for (String term : tokenize(field)) {
+                freqs.merge(term, 1, Integer::sum);
+                length++;
+            }
+        }
+        int doc = docs.size();
+        docs.add(internship);
+        docTerms.add(freqs.keySet().toArray(new String[0]));
+        if (doc == lengths.length) lengths = Arrays.copyOf(lengths, doc * 2);
+        lengths[doc] = length;
+        totalLength += length;
+        for (Map.Entry<String, Integer> e : freqs.entrySet()) {
+            postings.computeIfAbsent(e.getKey(), t -> new Postings()).add(doc, e.getValue(), length);
+        }
+        return doc;
+    }
+
+    private void remove(int doc) {
+        docs.set(doc, null);
+        totalLength -= lengths[doc];
+        for (String term : docTerms.get(doc)) postings.get(term).kill(doc);
+        docTerms.set(doc, null);
+        dead++;
+    }
+
+    // Rebuilds the postings from the live entries only
+    private void compact() {
+        List<Internship> live = new ArrayList<>(docById.size());
+        for (Internship i : docs) if (i != null) live.add(i);
+        postings.clear();
+        docById.clear();
+        docs.clear();
+        docTerms.clear();
+        totalLength = 0;
+        dead = 0;
+        for (Internship i : live) docById.put(i.getInternshipId().toLowerCase(), add(i));
+    }
+
+    // --- QUERIES ---
+    /**
+     * Internships matching any term of the query, best first.
+     *
+     * @param current looks up the internship with a given ID as it is now (e.g. in the
+     *                caller's catalog); the index's own copy may trail a change
+     * @param accept  only internships it accepts are returned (e.g. what the user may see);
+     *                it is given the current internship
+     * @param limit   at most this many results
+     */
+    public List<Internship> search(String query, Function<String, Internship> current,
+                                   Predicate<Internship> accept, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) return new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            int n = docById.size();
+            if (n == 0) return new ArrayList<>();
+            double avgLength = Math.max(1.0, (double) totalLength / n);
+
+            List<Postings> matched = new ArrayList<>(terms.size());
+            int maxHits = 0;
+            for (String term : terms) {
+                Postings p = postings.get(term);
+                if (p == null || p.live == 0) continue;
+                matched.add(p);
+                maxHits += p.live;
+            }
+            if (matched.isEmpty()) return new ArrayList<>();
+
+            Scores scores = new Scores(Math.min(maxHits, n));
+            double lengthWeight = K1 * B / avgLength;
+            double base = K1 * (1 - B);
+            for (Postings p : matched) {
+                double idf = Math.log(1 + (n - p.live + 0.5) / (p.live + 0.5));
+                for (int k = 0; k < p.size; k++) {
+                    int tf = p.freqs[k];
+                    if (tf == 0) continue; // dead
+                    double norm = base + lengthWeight * p.lengths[k];
+                    scores.add(p.docs[k], (float) (idf * tf * (K1 + 1) / (tf + norm)));
+                }
+            }
+            return best(scores, current, accept, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The scores of the docs one query touched. An open-addressed table maps each doc
+     * to a slot in dense arrays; it is sized to the query's postings, not to the index,
+     * so a query's scratch space follows its hits however large the catalog grows.
+     */
+    private static final class Scores {
+        final int[] table; // slot + 1 for each doc placed here; 0 if empty
+        final int mask;
+        final int[] docs;
+        final float[] values;
+        int size;
+
+        Scores(int maxHits) {
+            int capacity = Integer.highestOneBit(Math.max(1, 2 * maxHits - 1)) << 1; // >= 2 * maxHits
+            table = new int[capacity];
+            mask = capacity - 1;
+            docs = new int[maxHits];
+            values = new float[maxHits];
+        }
+
+        void add(int doc, float score) {
+            int h = doc * 0x9E3779B9;
+            for (int b = (h ^ (h >>> 16)) & mask; ; b = (b + 1) & mask) {
+                int slot = table[b] - 1;
+                if (slot < 0) {
+                    docs[size] = doc;
+                    values[size] = score;
+                    table[b] = ++size;
+                    return;
+                }
+                if (docs[slot] == doc) {
+                    values[slot] += score;
+                    return;
+                }
+            }
+        }
+
+        // Higher score first; on a tie the earlier indexed internship
+        boolean ranksAbove(int a, int b) {
+            return values[a] != values[b] ? values[a] > values[b] : docs[a] < docs[b];
+        }
+    }
+
+    // Keeps the top results in a bounded min-heap of score slots: O(hits log limit), no boxing.
+    // Each hit is resolved by ID, so a stale entry is judged and returned as the internship is now
+    private List<Internship> best(Scores scores, Function<String, Internship> current,
+                                  Predicate<Internship> accept, int limit) {
+        int[] heap = new int[Math.min(limit, scores.size)];
+        int size = 0;
+        for (int slot = 0; slot < scores.size; slot++) {
+            if (size == heap.length) {
+                if (!scores.ranksAbove(slot, heap[0]) || !accepts(slot, scores, current, accept)) continue;
+                heap[0] = slot; // replaces the worst
+                siftDown(heap, size, scores);
+            } else if (accepts(slot, scores, current, accept)) {
+                heap[size++] = slot;
+                siftUp(heap, size - 1, scores);
+            }
+        }
+        Internship[] ranked = new Internship[size];
+        while (size > 0) {
+            ranked[size - 1] = resolve(heap[0], scores, current);
+            heap[0] = heap[--size];
+            siftDown(heap, size, scores);
+        }
+        return new ArrayList<>(Arrays.asList(ranked));
+    }
+
+    private boolean accepts(int slot, Scores scores, Function<String, Internship> current,
+                            Predicate<Internship> accept) {
+        Internship now = resolve(slot, scores, current);
+        return now != null && accept.test(now); // null: no longer exists
+    }
+
+    private Internship resolve(int slot, Scores scores, Function<String, Internship> current) {
+        return current.apply(docs.get(scores.docs[slot]).getInternshipId());
+    }
+
+    private static void siftUp(int[] heap, int at, Scores scores) {
+        while (at > 0) {
+            int parent = (at - 1) / 2;
+            if (!scores.ranksAbove(heap[parent], heap[at])) return;
+            int t = heap[parent]; heap[parent] = heap[at]; heap[at] = t;
+            at = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, Scores scores) {
+        int at = 0;
+        while (true) {
+            int worst = at, left = 2 * at + 1, right = left + 1;
+            if (left < size && scores.ranksAbove(heap[worst], heap[left])) worst = left;
+            if (right < size && scores.ranksAbove(heap[worst], heap[right])) worst = right;
+            if (worst == at) return;
+            int t = heap[worst]; heap[worst] = heap[at]; heap[at] = t;
+            at = worst;
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- TEXT ---
+    private static String[] fields(Internship i) {
+        return new String[]{i.getTitle(), i.getDescription(), i.getCompanyName()};
+    }
+
+    private static boolean sameText(Internship a, Internship b) {
+        return Arrays.equals(fields(a), fields(b));
+    }
+
+    /** Lower-case runs of letters and digits, without stop words; queries and documents alike */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) return terms;
+        int start = -1;
+        for (int k = 0; k <= text.length(); k++) {
+            boolean inWord = k < text.length() && Character.isLetterOrDigit(text.charAt(k));
+            if (inWord && start < 0) start = k;
+            if (!inWord && start >= 0) {
+                String term = text.substring(start, k).toLowerCase();
+                if (!STOP_WORDS.contains(term)) terms.add(term);
+                start = -1;
+            }
+        }
+        return terms;
+    }
+}
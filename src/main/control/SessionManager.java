@@ -0,0 +1,117 @@
+package main.control;
+
+import main.entity.User;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SessionManager - Logged-in sessions, each identified by an opaque token
+ *
+ * RESPONSIBILITIES:
+ *  - Issue a random, unguessable token when a user logs in
+ *  - Resolve a token to its user (one hash lookup) and keep the session alive
+ *  - End sessions on logout, or once idle longer than the timeout
+ *
+ * Any number of sessions may be open at once, for the same or different users,
+ * so the console and the HTTP API can serve several people from one process.
+ * An expired session is refused as soon as it is resolved; a background sweep
+ * removes the ones nobody resolves again.
+ *
+ * The idle timeout can be overridden with the system property ips.session.idleMinutes.
+ */
+public final class SessionManager {
+
+    public static final long DEFAULT_IDLE_MINUTES = 30;
+
+    private static final int TOKEN_BYTES = 32;
+
+    /** One open session; lastSeen moves forward each time the token is resolved */
+    private static final class Session {
+        final User user;
+        volatile long lastSeen;
+
+        Session(User user, long now) {
+            this.user = user;
+            this.lastSeen = now;
+        }
+    }
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final long idleNanos;
+    private final ScheduledExecutorService sweeper;
+
+    public SessionManager() {
+        this(TimeUnit.MINUTES.toMillis(Long.getLong("ips.session.idleMinutes", DEFAULT_IDLE_MINUTES)));
+    }
+
+    public SessionManager(long idleTimeoutMs) {
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "session-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMs / 4);
+        sweeper.scheduleWithFixedDelay(this::expireIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // --- OPEN / CLOSE ---
+    /** Starts a session for an authenticated user and returns its token */
+    public String open(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        sessions.put(token, new Session(user, System.nanoTime()));
+        return token;
+    }
+
+    /** Ends the session; @return the user it belonged to, or null if it was not open */
+    public User close(String token) {
+        Session s = token == null ? null : sessions.remove(token);
+        return s == null ? null : s.user;
+    }
+
+    // --- LOOKUP ---
+    /** The session's user, or null if the token is unknown or has expired; counts as activity */
+    public User resolve(String token) {
+        if (token == null) return null;
+        Session s = sessions.get(token);
+        if (s == null) return null;
+        long now = System.nanoTime();
+        if (now - s.lastSeen > idleNanos) {
+            sessions.remove(token, s);
+            return null;
+        }
+        s.lastSeen = now;
+        return s.user;
+    }
+
+    public int activeCount() {
+        return sessions.size();
+    }
+
+    // --- EXPIRY ---
+    /** Removes every session idle longer than the timeout; @return how many were removed */
+    public int expireIdle() {
+        long now = System.nanoTime();
+        int removed = 0;
+        for (Map.Entry<String, Session> e : sessions.entrySet()) {
+            if (now - e.getValue().lastSeen > idleNanos && sessions.remove(e.getKey(), e.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /** Stops the background sweep; sessions stay resolvable until they expire */
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+}
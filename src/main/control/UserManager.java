@@ -1,93 +1,118 @@
 package main.control;
 
-import main.data.DataLoader;
+import main.data.UserRepository;
 import main.entity.CompanyRepresentative;
 import main.entity.User;
 import main.entity.enums.AccountStatus;
 
-import java.io.*;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class UserManager {
-    private final List<User> users = new ArrayList<>();
+    public static final int MIN_PASSWORD_LENGTH = 4;
+
+    private final UserRepository users;
+
+    public UserManager() {
+        this(new UserRepository());
+    }
+
+    public UserManager(UserRepository users) {
+        this.users = users;
+    }
+
+    public UserRepository getRepository() {
+        return users;
+    }
 
     // --- ADD USER ---
     public void addUser(User user) {
         users.add(user);
     }
 
+    // --- REGISTER NEW USER (added and persisted) ---
+    public boolean registerUser(User user) {
+        return users.register(user);
+    }
+
+    // --- PERSIST A CHANGED USER (e.g. new password) ---
+    public void updateUser(User user) {
+        users.update(user);
+    }
+
     // --- REMOVE USER ---
     public void removeUser(String id) {
-        users.removeIf(u -> u.getUserId().equalsIgnoreCase(id));
+        users.remove(id);
     }
 
     // --- FIND USER BY ID ---
     public User findUserById(String id) {
-        for (User u : users) {
-            if (u.getUserId().equalsIgnoreCase(id)) return u;
-        }
-        return null;
+        return users.findById(id);
     }
 
     // --- FIND USER BY EMAIL ---
     public User findUserByEmail(String email) {
-        for (User u : users) {
-            if (u.getEmail().equalsIgnoreCase(email)) return u;
-        }
-        return null;
+        return users.findByEmail(email);
     }
 
     // --- CHANGE PASSWORD ---
-    public boolean changeUserPassword(String userId, String oldPw, String newPw) {
+    public OperationResult changeUserPassword(String userId, String oldPw, String newPw) {
         User u = findUserById(userId);
         if (u == null) {
-            System.out.println("User not found.");
-            return false;
+            return OperationResult.notFound("User not found.");
+        }
+        OperationResult rejected = checkNewPassword(newPw);
+        if (rejected != null) {
+            return rejected;
         }
         if (u.changePassword(oldPw, newPw)) {
-            System.out.println("Password updated successfully.");
-            return true;
+            users.update(u);
+            return OperationResult.ok("Password updated successfully.", u.getUserId());
         } else {
-            System.out.println("Incorrect old password.");
-            return false;
+            return OperationResult.forbidden("Incorrect old password.");
+        }
+    }
+
+    /** The rule every new password must meet (console and HTTP API); null if newPw meets it */
+    public static OperationResult checkNewPassword(String newPw) {
+        if (newPw == null || newPw.length() < MIN_PASSWORD_LENGTH) {
+            return OperationResult.fail("⚠ Password too short. Minimum " + MIN_PASSWORD_LENGTH + " characters.");
         }
+        return null;
     }
 
     // --- CHECK USER EXISTENCE ---
     public boolean userExists(String id) {
-        return findUserById(id) != null;
+        return users.existsById(id);
+    }
+
+    public boolean emailExists(String email) {
+        return users.existsByEmail(email);
     }
 
     // --- LIST USERS (for testing/debug) ---
     public void displayAllUsers() {
-        for (User u : users) {
+        for (User u : users.getAll()) {
             System.out.printf("%s - %s - %s%n", u.getUserId(), u.getName(), u.getRole());
         }
     }
 
     // --- GET ALL USERS ---
-    public List<User> getAllUsers() {
-        return users;
+    public Collection<User> getAllUsers() {
+        return users.getAll();
     }
 
     // --- COMPANY REPRESENTATIVE APPROVAL LOGIC ---
     public List<CompanyRepresentative> getPendingCompanyReps() {
-        return getAllUsers().stream()
-                .filter(u -> u instanceof CompanyRepresentative rep
-                        && rep.getAccountStatus() == AccountStatus.PENDING)
-                .map(u -> (CompanyRepresentative) u)
-                .toList();
+        return users.findCompanyRepsByStatus(AccountStatus.PENDING);
     }
 
     public void approveCompanyRep(CompanyRepresentative rep) {
-        rep.setAccountStatus(AccountStatus.APPROVED);
-        DataLoader.saveCompanyReps("data/sample_company_representative_list.csv", this); // ✅ persistence
+        users.updateAccountStatus(rep, AccountStatus.APPROVED); // ✅ persisted as one journal record
     }
 
     public void rejectCompanyRep(CompanyRepresentative rep) {
-        rep.setAccountStatus(AccountStatus.REJECTED);
-        DataLoader.saveCompanyReps("data/sample_company_representative_list.csv", this); // ✅ persistence
+        users.updateAccountStatus(rep, AccountStatus.REJECTED); // ✅ persisted as one journal record
     }
 
 }
@@ -4,102 +4,301 @@ import main.entity.Application;
 import main.entity.enums.ApplicationStatus;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
-public class ApplicationRepository {
+/**
+ * ApplicationRepository
+ *
+ * Handles persistence of Application objects and keeps in-memory indexes
+ * by application ID, student ID, internship ID and status (all IDs case-insensitive).
+ * All methods are synchronized, since students, reps and the background flusher
+ * use the repository concurrently. Lookups return copies taken under the lock,
+ * so their cost is the size of the result and callers may iterate them freely.
+ *
+ * Like InternshipRepository, changed applications are marked dirty and written
+ * to a journal on flush (immediately, or by an attached WriteBehindFlusher);
+ * saveApplications() compacts the journal into the CSV snapshot, truncating the
+ * journal only once the new CSV is in place. A failed write is retried on the next flush.
+ *
+ * Each application carries a version, +1 per status change and saved with it.
+ * compareAndSetStatus() only applies a change if the caller saw the current
+ * version, and otherwise throws a VersionConflictException, so reviewers and
+ * students can act on an application without holding a lock while they decide.
+ * compareAndSetStatuses() does the same for a batch and writes it in one commit.
+ */
+public class ApplicationRepository implements FlushableRepository {
     private final List<Application> applications;
     private final String filePath;
+    private final Journal journal; // null in snapshot mode
+
+    // Applications changed since the last flush -> journal operation tag
+    private final Map<Application, String> dirty = new LinkedHashMap<>();
+    private WriteBehindFlusher flusher;
+
+    // --- INDEXES ---
+    private final Map<String, Application> byId = new HashMap<>();
+    private final Map<String, List<Application>> byStudent = new HashMap<>();
+    private final Map<String, List<Application>> byInternship = new HashMap<>();
+    // Per status, keyed by application ID: a status change removes in O(1), however large the bucket
+    private final Map<ApplicationStatus, Map<String, Application>> byStatus = new EnumMap<>(ApplicationStatus.class);
     private static final String CSV_HEADER =
-            "appId,studentId,studentName,studentMajor,studentYear,internshipId,appliedDate,status";
+            "appId,studentId,studentName,studentMajor,studentYear,internshipId,appliedDate,status,version";
+
+    // Journal operation tags
+    private static final String OP_ADD = "ADD";
+    private static final String OP_STATUS = "STATUS";
+
+    /** One change in a compareAndSetStatuses batch */
+    public record StatusChange(Application application, long expectedVersion, ApplicationStatus newStatus) {}
 
     public ApplicationRepository(String filePath) {
+        this(filePath, true);
+    }
+
+    public ApplicationRepository(String filePath, boolean journaled) {
+        this(filePath, journaled, null);
+    }
+
+    /**
+     * @param preloaded applications already read elsewhere (e.g. a BinarySnapshot);
+     *                  null to load the CSV and replay the journal
+     */
+    public ApplicationRepository(String filePath, boolean journaled, List<Application> preloaded) {
         this.filePath = filePath;
-        this.applications = loadApplications();
+        this.journal = journaled ? new Journal(Journal.pathFor(filePath)) : null;
+        this.applications = (preloaded != null) ? new ArrayList<>(preloaded) : loadApplications();
+        if (preloaded != null && journal != null) journal.open(Journal.snapshotGeneration(filePath));
+        for (Application a : applications) index(a);
     }
 
     // --- ADD ---
-    public void addApplication(Application app) {
+    public synchronized void addApplication(Application app) {
         applications.add(app);
-        saveApplications();
+        index(app);
+        persist(OP_ADD, app);
     }
 
     // --- GET ALL ---
-    public List<Application> getAllApplications() {
-        return applications;
+    public synchronized List<Application> getAllApplications() {
+        return List.copyOf(applications);
+    }
+
+    // --- FIND BY ID ---
+    public synchronized Application findById(String appId) {
+        if (appId == null) return null;
+        return byId.get(key(appId));
     }
 
     // --- FILTER BY STUDENT ---
-    public List<Application> getApplicationsByStudent(String studentId) {
-        List<Application> list = new ArrayList<>();
-        for (Application a : applications) {
-            if (a.getStudentId().equalsIgnoreCase(studentId)) list.add(a);
-        }
-        return list;
+    public synchronized List<Application> getApplicationsByStudent(String studentId) {
+        return copy(byStudent.get(key(studentId)));
     }
 
     // --- FILTER BY INTERNSHIP ---
-    public List<Application> getApplicationsByInternship(String internshipId) {
-        List<Application> list = new ArrayList<>();
-        for (Application a : applications) {
-            if (a.getInternshipId().equalsIgnoreCase(internshipId)) list.add(a);
-        }
-        return list;
+    public synchronized List<Application> getApplicationsByInternship(String internshipId) {
+        return copy(byInternship.get(key(internshipId)));
+    }
+
+    // --- FILTER BY STATUS ---
+    public synchronized List<Application> getApplicationsByStatus(ApplicationStatus status) {
+        Map<String, Application> bucket = byStatus.get(status);
+        return bucket == null ? List.of() : List.copyOf(bucket.values());
     }
 
     // --- UPDATE STATUS ---
-    public void updateApplicationStatus(String appId, ApplicationStatus newStatus) {
-        for (Application a : applications) {
-            if (a.getApplicationId().equalsIgnoreCase(appId)) {
-                a.setStatus(newStatus);
-                saveApplications();
-                return;
+    public synchronized void updateApplicationStatus(String appId, ApplicationStatus newStatus) {
+        Application a = findById(appId);
+        if (a == null) return;
+        setStatus(a, newStatus);
+    }
+
+    /**
+     * Changes an application's status unconditionally, keeps the status index in sync
+     * and persists the change. Prefer compareAndSetStatus for decisions based on a read.
+     */
+    public synchronized void setStatus(Application a, ApplicationStatus newStatus) {
+        if (applyStatus(a, newStatus)) persist(OP_STATUS, a);
+    }
+
+    private boolean applyStatus(Application a, ApplicationStatus newStatus) {
+        ApplicationStatus old = a.getStatus();
+        if (old == newStatus) return false;
+        a.setStatus(newStatus);
+        a.setVersion(a.getVersion() + 1); // after the status: readers check the version first
+        String id = key(a.getApplicationId());
+        Map<String, Application> oldBucket = byStatus.get(old);
+        if (oldBucket != null) oldBucket.remove(id);
+        byStatus.computeIfAbsent(newStatus, k -> new LinkedHashMap<>()).put(id, a);
+        return true;
+    }
+
+    /**
+     * Changes the status only if the application is still at expectedVersion,
+     * i.e. nothing changed since the caller read the version and checked its rules.
+     *
+     * @throws VersionConflictException if the application has moved on; nothing is written
+     */
+    public synchronized void compareAndSetStatus(Application a, long expectedVersion, ApplicationStatus newStatus) {
+        Application current = byId.getOrDefault(key(a.getApplicationId()), a);
+        if (current.getVersion() != expectedVersion) {
+            throw new VersionConflictException("Application", current.getApplicationId(),
+                    expectedVersion, current.getVersion());
+        }
+        setStatus(current, newStatus);
+    }
+
+    /**
+     * Applies a batch of compare-and-set status changes under one lock, then writes
+     * them in one journal append before returning (whether or not a flusher is attached).
+     * A change whose application has moved past its expected version is skipped; the
+     * others are still applied.
+     *
+     * @return the changes that were applied, in the order given
+     */
+    public synchronized List<StatusChange> compareAndSetStatuses(List<StatusChange> changes) {
+        List<StatusChange> applied = new ArrayList<>(changes.size());
+        for (StatusChange c : changes) {
+            Application current = byId.getOrDefault(key(c.application().getApplicationId()), c.application());
+            if (current.getVersion() != c.expectedVersion()) continue;
+            if (applyStatus(current, c.newStatus())) {
+                dirty.merge(current, OP_STATUS, (old, cur) -> OP_ADD.equals(old) ? old : cur);
             }
+            applied.add(c);
+        }
+        flush(); // one commit for the batch
+        return applied;
+    }
+
+    // --- DIRTY TRACKING ---
+    private void persist(String op, Application a) {
+        synchronized (this) {
+            dirty.merge(a, op, (old, cur) -> OP_ADD.equals(old) ? old : cur);
+        }
+        if (flusher != null && flusher.isRunning()) flusher.onChange();
+        else flush();
+    }
+
+    @Override
+    public synchronized int dirtyCount() {
+        return dirty.size();
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (dirty.isEmpty()) return;
+        if (journal == null) {
+            saveApplications();
+            return;
+        }
+        List<String[]> records = new ArrayList<>(dirty.size());
+        for (Map.Entry<Application, String> e : dirty.entrySet()) {
+            records.add(Journal.record(e.getValue(), toRow(e.getKey())));
         }
+        if (!journal.appendAll(records)) return; // still dirty: retried on the next flush
+        dirty.clear();
+        if (journal.needsCompaction()) saveApplications();
+    }
+
+    @Override
+    public void attach(WriteBehindFlusher flusher) {
+        this.flusher = flusher;
+    }
+
+    // --- INDEX MAINTENANCE ---
+    private void index(Application a) {
+        byId.put(key(a.getApplicationId()), a);
+        byStudent.computeIfAbsent(key(a.getStudentId()), k -> new ArrayList<>()).add(a);
+        byInternship.computeIfAbsent(key(a.getInternshipId()), k -> new ArrayList<>()).add(a);
+        byStatus.computeIfAbsent(a.getStatus(), k -> new LinkedHashMap<>()).put(key(a.getApplicationId()), a);
+    }
+
+    private static List<Application> copy(List<Application> list) {
+        return list == null ? List.of() : List.copyOf(list);
+    }
+
+    private static String key(String id) {
+        return id == null ? "" : id.trim().toLowerCase();
     }
 
-    // --- SAVE TO CSV ---
-    public void saveApplications() {
+    // --- SAVE TO CSV (also compacts the journal) ---
+    public synchronized void saveApplications() {
         List<String[]> data = new ArrayList<>();
         for (Application a : applications) {
-            data.add(new String[]{
-                    a.getApplicationId(),
-                    a.getStudentId(),
-                    a.getStudentName(),
-                    a.getStudentMajor(),
-                    String.valueOf(a.getStudentYear()),
-                    a.getInternshipId(),
-                    a.getAppliedDate(),
-                    a.getStatus().name()
-            });
+            data.add(toRow(a));
         }
 
-        FileHandler.writeCSV(filePath, data, CSV_HEADER);
+        // The journal is only dropped once the new CSV is in place; if the rewrite fails,
+        // the old CSV plus the journal still hold every change, and the next flush retries
+        long generation = journal == null ? 0 : journal.generation() + 1;
+        String header = journal == null ? CSV_HEADER : Journal.snapshotHeader(CSV_HEADER, generation);
+        if (!FileHandler.writeCSV(filePath, data, header)) return;
+        if (journal != null) journal.reset(generation);
+        dirty.clear();
+    }
+
+    private static String[] toRow(Application a) {
+        return new String[]{
+                a.getApplicationId(),
+                a.getStudentId(),
+                a.getStudentName(),
+                a.getStudentMajor(),
+                String.valueOf(a.getStudentYear()),
+                a.getInternshipId(),
+                a.getAppliedDate(),
+                a.getStatus().name(),
+                String.valueOf(a.getVersion())
+        };
     }
 
-    // --- LOAD FROM CSV ---
+    // --- LOAD FROM CSV, THEN REPLAY JOURNAL ---
     private List<Application> loadApplications() {
-        List<Application> list = new ArrayList<>();
-        List<String[]> raw = FileHandler.readCSV(filePath);
-
-        for (String[] row : raw) {
-            try {
-                if (row.length < 5) continue;
-                Application app = new Application(
-                        row[0], // appId
-                        row[1], // studentId
-                        row[2], // studentName
-                        row[3], // studentMajor
-                        Integer.parseInt(row[4]), // studentYear
-                        row[5], // internshipId
-                        row[6], // appliedDate
-                        ApplicationStatus.valueOf(row[7].toUpperCase())
-                );
-
-                list.add(app);
-            } catch (Exception e) {
-                System.err.println("Skipping invalid application row: " + e.getMessage());
-            }
+        Map<String, Application> loaded = new LinkedHashMap<>();
+
+        // Rows are parsed in parallel chunks for large files; the journal is replayed in order
+        for (Application app : FileHandler.parseParallel(filePath, true, ApplicationRepository::parseRow)) {
+            loaded.put(key(app.getApplicationId()), app);
+        }
+
+        if (journal != null) {
+            journal.replay(Journal.snapshotGeneration(filePath), (op, row) -> {
+                try {
+                    Application app = fromRow(row);
+                    if (app != null) loaded.put(key(app.getApplicationId()), app);
+                } catch (Exception e) {
+                    System.err.println("Skipping invalid application journal record: " + e.getMessage());
+                }
+            });
         }
-        return list;
+        return new ArrayList<>(loaded.values());
+    }
+
+    private static Application parseRow(CsvRow row) {
+        try {
+            return fromRow(row);
+        } catch (Exception e) {
+            System.err.println("Skipping invalid application row: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Application fromRow(CsvRow row) {
+        if (row.size() < 8) return null;
+        Application app = new Application(
+                row.get(0), // appId
+                row.get(1), // studentId
+                row.get(2), // studentName
+                row.get(3), // studentMajor
+                Integer.parseInt(row.get(4)), // studentYear
+                row.get(5), // internshipId
+                row.get(6), // appliedDate
+                ApplicationStatus.valueOf(row.get(7).toUpperCase())
+        );
+        // Files written before versions existed have no version column: version 1
+        if (row.size() > 8 && !row.get(8).isEmpty()) app.setVersion(Long.parseLong(row.get(8)));
+        return app;
     }
 }
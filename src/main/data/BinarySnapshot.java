@@ -0,0 +1,289 @@
+package main.data;
+
+import main.entity.*;
+import main.entity.enums.AccountStatus;
+import main.entity.enums.ApplicationStatus;
+import main.entity.enums.InternshipLevel;
+import main.entity.enums.InternshipStatus;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+/**
+ * BinarySnapshot - Compact, versioned binary image of users, internships and applications
+ *
+ * RESPONSIBILITIES:
+ *  - Save all entities in one file so startup does not have to parse five CSVs
+ *  - Load the file with a single memory-mapped read
+ *  - Tell the caller whether the snapshot is newer than the CSV/journal files it was built from
+ *
+ * FORMAT (big-endian):
+ *  magic "IPSS", int version
+ *  string table: int count, then per string: int byteLength, UTF-8 bytes
+ *  users:        int count, then per user: byte type, fields
+ *  internships:  int count, then per internship: fields
+ *  applications: int count, then per application: fields
+ * Strings are stored as int indexes into the table (-1 for null), enums as byte ordinals.
+ * Any change to the layout or to an enum's constants must bump VERSION.
+ */
+public class BinarySnapshot {
+
+    private static final int MAGIC = 0x49505353; // "IPSS"
+    private static final int VERSION = 2; // 2: internship and application versions
+
+    private static final byte TYPE_STUDENT = 0;
+    private static final byte TYPE_REP = 1;
+    private static final byte TYPE_STAFF = 2;
+
+    private final String filePath;
+
+    /** Everything read back from a snapshot */
+    public record Contents(List<User> users, List<Internship> internships, List<Application> applications) {}
+
+    public BinarySnapshot(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Whether the snapshot exists and was written after every given source file.
+     * Source files that do not exist are ignored.
+     */
+    public boolean isNewerThan(String... sourceFiles) {
+        try {
+            Path snapshot = Path.of(filePath);
+            if (!Files.exists(snapshot)) return false;
+            FileTime snapshotTime = Files.getLastModifiedTime(snapshot);
+            for (String source : sourceFiles) {
+                Path p = Path.of(source);
+                if (Files.exists(p) && Files.getLastModifiedTime(p).compareTo(snapshotTime) >= 0) return false;
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // ---------- SAVE ----------
+    public void save(Collection<? extends User> users, Collection<Internship> internships,
+                     Collection<Application> applications) {
+        StringTable table = new StringTable();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        try (DataOutputStream out = new DataOutputStream(body)) {
+            out.writeInt(users.size());
+            for (User u : users) writeUser(out, table, u);
+
+            out.writeInt(internships.size());
+            for (Internship i : internships) writeInternship(out, table, i);
+
+            out.writeInt(applications.size());
+            for (Application a : applications) writeApplication(out, table, a);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory stream; cannot happen
+        }
+
+        try {
+            FileHandler.writeAtomically(filePath, stream -> {
+                DataOutputStream out = new DataOutputStream(stream);
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                table.writeTo(out);
+                body.writeTo(out);
+                out.flush();
+            });
+        } catch (IOException e) {
+            System.out.println("Error writing snapshot: " + filePath);
+            e.printStackTrace();
+        }
+    }
+
+    private static void writeUser(DataOutputStream out, StringTable t, User u) throws IOException {
+        if (u instanceof Student s) {
+            out.writeByte(TYPE_STUDENT);
+            writeCommon(out, t, u);
+            out.writeInt(s.getYearOfStudy());
+            out.writeInt(t.id(s.getMajor()));
+        } else if (u instanceof CompanyRepresentative rep) {
+            out.writeByte(TYPE_REP);
+            writeCommon(out, t, u);
+            out.writeInt(t.id(rep.getCompanyName()));
+            out.writeInt(t.id(rep.getDepartment()));
+            out.writeInt(t.id(rep.getPosition()));
+            out.writeByte(rep.getAccountStatus().ordinal());
+        } else if (u instanceof CareerCenterStaff staff) {
+            out.writeByte(TYPE_STAFF);
+            writeCommon(out, t, u);
+            out.writeInt(t.id(staff.getStaffDepartment()));
+            out.writeInt(t.id(staff.getRole()));
+        } else {
+            throw new IllegalArgumentException("Unknown user type: " + u.getClass().getName());
+        }
+    }
+
+    private static void writeCommon(DataOutputStream out, StringTable t, User u) throws IOException {
+        out.writeInt(t.id(u.getName()));
+        out.writeInt(t.id(u.getUserId()));
+        out.writeInt(t.id(u.getEmail()));
+        out.writeInt(t.id(u.getPassword()));
+    }
+
+    private static void writeInternship(DataOutputStream out, StringTable t, Internship i) throws IOException {
+        out.writeInt(t.id(i.getInternshipId()));
+        out.writeInt(t.id(i.getTitle()));
+        out.writeInt(t.id(i.getDescription()));
+        out.writeByte(i.getLevel().ordinal());
+        out.writeInt(t.id(i.getPreferredMajor()));
+        out.writeInt(t.id(i.getOpeningDate()));
+        out.writeInt(t.id(i.getClosingDate()));
+        out.writeByte(i.getStatus().ordinal());
+        out.writeInt(t.id(i.getCompanyName()));
+        out.writeInt(t.id(i.getRepresentativeId()));
+        out.writeInt(i.getNumSlots());
+        out.writeInt(i.getSlotsLeft());
+        out.writeBoolean(i.isVisible());
+        out.writeLong(i.getVersion());
+    }
+
+    private static void writeApplication(DataOutputStream out, StringTable t, Application a) throws IOException {
+        out.writeInt(t.id(a.getApplicationId()));
+        out.writeInt(t.id(a.getStudentId()));
+        out.writeInt(t.id(a.getStudentName()));
+        out.writeInt(t.id(a.getStudentMajor()));
+        out.writeInt(a.getStudentYear());
+        out.writeInt(t.id(a.getInternshipId()));
+        out.writeInt(t.id(a.getAppliedDate()));
+        out.writeByte(a.getStatus().ordinal());
+        out.writeLong(a.getVersion());
+    }
+
+    // ---------- LOAD ----------
+    /**
+     * Reads the snapshot.
+     *
+     * @return the contents, or null if the file is missing, corrupt or from another format version
+     */
+    public Contents load() {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+                System.out.println("Snapshot format not recognised, ignoring: " + filePath);
+                return null;
+            }
+
+            String[] strings = new String[buf.getInt()];
+            for (int k = 0; k < strings.length; k++) {
+                byte[] bytes = new byte[buf.getInt()];
+                buf.get(bytes);
+                strings[k] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            int userCount = buf.getInt();
+            List<User> users = new ArrayList<>(userCount);
+            for (int k = 0; k < userCount; k++) users.add(readUser(buf, strings));
+
+            int internshipCount = buf.getInt();
+            List<Internship> internships = new ArrayList<>(internshipCount);
+            for (int k = 0; k < internshipCount; k++) internships.add(readInternship(buf, strings));
+
+            int applicationCount = buf.getInt();
+            List<Application> applications = new ArrayList<>(applicationCount);
+            for (int k = 0; k < applicationCount; k++) applications.add(readApplication(buf, strings));
+
+            return new Contents(users, internships, applications);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Could not read snapshot " + filePath + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static User readUser(ByteBuffer buf, String[] s) {
+        byte type = buf.get();
+        String name = str(buf, s), id = str(buf, s), email = str(buf, s), password = str(buf, s);
+
+        switch (type) {
+            case TYPE_STUDENT -> {
+                int year = buf.getInt();
+                return new Student(name, id, email, password, year, str(buf, s));
+            }
+            case TYPE_REP -> {
+                String company = str(buf, s), dept = str(buf, s), position = str(buf, s);
+                AccountStatus status = AccountStatus.values()[buf.get()];
+                return new CompanyRepresentative(name, id, email, password, company, dept, position, status);
+            }
+            case TYPE_STAFF -> {
+                CareerCenterStaff staff = new CareerCenterStaff(name, id, email, password, str(buf, s));
+                staff.setRole(str(buf, s));
+                return staff;
+            }
+            default -> throw new IllegalStateException("Unknown user type " + type);
+        }
+    }
+
+    private static Internship readInternship(ByteBuffer buf, String[] s) {
+        String id = str(buf, s), title = str(buf, s), description = str(buf, s);
+        InternshipLevel level = InternshipLevel.values()[buf.get()];
+        String major = str(buf, s), open = str(buf, s), close = str(buf, s);
+        InternshipStatus status = InternshipStatus.values()[buf.get()];
+        String company = str(buf, s), repId = str(buf, s);
+        int numSlots = buf.getInt();
+
+        Internship internship = new Internship(id, title, description, level, major, open, close,
+                company, repId, numSlots);
+        internship.setSlotsLeft(buf.getInt());
+        internship.setStatus(status);
+        internship.setVisible(buf.get() != 0);
+        internship.setVersion(buf.getLong());
+        return internship;
+    }
+
+    private static Application readApplication(ByteBuffer buf, String[] s) {
+        String id = str(buf, s), studentId = str(buf, s), name = str(buf, s), major = str(buf, s);
+        int year = buf.getInt();
+        String internshipId = str(buf, s), date = str(buf, s);
+        ApplicationStatus status = ApplicationStatus.values()[buf.get()];
+        Application application = new Application(id, studentId, name, major, year, internshipId, date, status);
+        application.setVersion(buf.getLong());
+        return application;
+    }
+
+    private static String str(ByteBuffer buf, String[] strings) {
+        int id = buf.getInt();
+        return id < 0 ? null : strings[id];
+    }
+
+    // ---------- STRING TABLE ----------
+    /** Deduplicates strings so repeated values (majors, companies, dates) are stored once */
+    private static class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        int id(String s) {
+            if (s == null) return -1;
+            Integer id = ids.get(s);
+            if (id == null) {
+                id = strings.size();
+                ids.put(s, id);
+                strings.add(s);
+            }
+            return id;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(strings.size());
+            for (String s : strings) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+}
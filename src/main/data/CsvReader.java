@@ -0,0 +1,182 @@
+package main.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * CsvReader - Streaming, quote-aware CSV parser (RFC 4180)
+ *
+ * RESPONSIBILITIES:
+ *  - Parse quoted fields, including embedded commas, doubled quotes and line breaks
+ *  - Accept LF, CRLF and CR line endings; skip blank lines
+ *  - Trim unquoted fields (the legacy files were written with padding); keep quoted fields verbatim
+ *  - Read into one reusable field buffer; no per-row regex split or intermediate lists
+ *
+ * Usage:
+ *   while (reader.next()) { CsvRow row = reader.row(); ... }
+ */
+public class CsvReader implements Closeable {
+
+    private static final int EOF = -1;
+
+    private final Reader in;
+    private final char[] buf = new char[8192];
+    private int pos;
+    private int limit;
+
+    private final StringBuilder field = new StringBuilder(64);
+    private final CsvRow row = new CsvRow();
+    private long line = 1;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Opens a file as UTF-8. Malformed bytes decode to U+FFFD, as the original FileReader
+     * did, so one bad byte cannot cut a table short (a strict decoder would throw midway
+     * and the caller would keep only the rows read so far).
+     */
+    public static CsvReader open(String filePath) throws IOException {
+        return new CsvReader(new InputStreamReader(Files.newInputStream(Path.of(filePath)), StandardCharsets.UTF_8));
+    }
+
+    /** Parses text[start, end) without copying it; used for parallel chunked parsing. */
+    public static CsvReader over(String text, int start, int end) {
+        return new CsvReader(new RangeReader(text, start, end));
+    }
+
+    /** Current record; valid until the next call to next() */
+    public CsvRow row() {
+        return row;
+    }
+
+    /**
+     * Advances to the next non-blank record.
+     *
+     * @return false at end of input
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            row.clear(line);
+            int c = read();
+            if (c == EOF) return false;
+            if (c == '\n' || c == '\r') {
+                endOfLine(c);
+                continue;
+            }
+            parseRecord(c);
+            if (!row.isBlank()) return true;
+        }
+    }
+
+    // --- PARSER ---
+    // c is always the first character of the field being parsed
+    private void parseRecord(int c) throws IOException {
+        while (true) {
+            field.setLength(0);
+
+            if (c == '"') {
+                while (true) {
+                    c = read();
+                    if (c == EOF) break; // unterminated quote: keep what we have
+                    if (c == '"') {
+                        c = read();
+                        if (c == '"') {
+                            field.append('"');
+                            continue;
+                        }
+                        break; // closing quote; c is the character after it
+                    }
+                    if (c == '\n') line++;
+                    else if (c == '\r' && peek() != '\n') line++;
+                    field.append((char) c);
+                }
+                // Be lenient about stray characters between the closing quote and the delimiter
+                while (c != ',' && c != '\n' && c != '\r' && c != EOF) c = read();
+                row.add(field.toString());
+            } else {
+                while (c != ',' && c != '\n' && c != '\r' && c != EOF) {
+                    field.append((char) c);
+                    c = read();
+                }
+                row.add(trimmed(field));
+            }
+
+            if (c != ',') {
+                endOfLine(c);
+                return;
+            }
+            c = read();
+        }
+    }
+
+    private void endOfLine(int c) throws IOException {
+        if (c == EOF) return;
+        if (c == '\r' && peek() == '\n') read();
+        line++;
+    }
+
+    private static String trimmed(StringBuilder sb) {
+        int start = 0, end = sb.length();
+        while (start < end && sb.charAt(start) <= ' ') start++;
+        while (end > start && sb.charAt(end - 1) <= ' ') end--;
+        return sb.substring(start, end);
+    }
+
+    // --- BUFFERED INPUT ---
+    private int read() throws IOException {
+        if (pos >= limit && !fill()) return EOF;
+        return buf[pos++];
+    }
+
+    private int peek() throws IOException {
+        if (pos >= limit && !fill()) return EOF;
+        return buf[pos];
+    }
+
+    private boolean fill() throws IOException {
+        limit = in.read(buf, 0, buf.length);
+        pos = 0;
+        if (limit <= 0) {
+            limit = 0;
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // Reader over a slice of a String
+    private static final class RangeReader extends Reader {
+        private final String text;
+        private int pos;
+        private final int end;
+
+        RangeReader(String text, int start, int end) {
+            this.text = text;
+            this.pos = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read(char[] dst, int off, int len) {
+            if (pos >= end) return -1;
+            int n = Math.min(len, end - pos);
+            text.getChars(pos, pos + n, dst, off);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,73 @@
+package main.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CsvRow - One parsed CSV record
+ *
+ * The reader reuses the same CsvRow (and its field buffer) for every record,
+ * so a row is only valid until the next call to CsvReader.next().
+ * Copy values out with get() or toArray() if they must outlive the callback.
+ */
+public class CsvRow {
+    private final List<String> fields;
+    private final int offset;
+    private long lineNumber;
+
+    CsvRow() {
+        this(new ArrayList<>(16), 0);
+    }
+
+    private CsvRow(List<String> fields, int offset) {
+        this.fields = fields;
+        this.offset = offset;
+    }
+
+    // --- READER SIDE ---
+    void clear(long lineNumber) {
+        fields.clear();
+        this.lineNumber = lineNumber;
+    }
+
+    void add(String field) {
+        fields.add(field);
+    }
+
+    boolean isBlank() {
+        return fields.size() == 1 && fields.get(0).isEmpty();
+    }
+
+    // --- ACCESS ---
+    public int size() {
+        return fields.size() - offset;
+    }
+
+    public String get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new ArrayIndexOutOfBoundsException("Field " + index + " missing on line " + lineNumber);
+        }
+        return fields.get(offset + index);
+    }
+
+    /** View of this row without its first n fields (shares the same buffer) */
+    public CsvRow tail(int n) {
+        CsvRow view = new CsvRow(fields, offset + n);
+        view.lineNumber = lineNumber;
+        return view;
+    }
+
+    /** Line number (1-based) where this record starts */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public String[] toArray() {
+        return fields.subList(offset, fields.size()).toArray(new String[0]);
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", fields.subList(offset, fields.size()));
+    }
+}
@@ -0,0 +1,101 @@
+package main.data;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * CsvWriter - Writes RFC 4180 CSV through a single buffered writer
+ *
+ * Fields containing a comma, quote, line break or surrounding spaces are quoted,
+ * with embedded quotes doubled. null is written as an empty field.
+ */
+public class CsvWriter implements Closeable, Flushable {
+
+    private final Writer out;
+    private final FileChannel channel; // null when wrapping a caller-supplied Writer
+
+    public CsvWriter(Writer out) {
+        this(out, null);
+    }
+
+    private CsvWriter(Writer out, FileChannel channel) {
+        this.out = out;
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a file for writing.
+     *
+     * @param append true to append, false to truncate
+     */
+    public static CsvWriter open(String filePath, boolean append) throws IOException {
+        FileChannel channel = FileChannel.open(Path.of(filePath),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+        Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), 1 << 16);
+        return new CsvWriter(writer, channel);
+    }
+
+    /** Writes a pre-formatted line as-is (e.g. a header) */
+    public void writeLine(String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+    }
+
+    public void writeRow(String[] fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) out.write(',');
+            writeField(fields[i]);
+        }
+        out.write('\n');
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null || value.isEmpty()) return;
+        if (!needsQuoting(value)) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') out.write('"');
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private static boolean needsQuoting(String value) {
+        // CsvReader trims unquoted fields of anything <= ' ' (spaces, tabs, control chars)
+        if (value.charAt(0) <= ' ' || value.charAt(value.length() - 1) <= ' ') return true;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /** Flushes and forces the written bytes to the storage device (no-op for plain Writers) */
+    public void sync() throws IOException {
+        out.flush();
+        if (channel != null) channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
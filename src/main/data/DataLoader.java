@@ -5,84 +5,142 @@ import main.entity.*;
 import main.entity.enums.AccountStatus;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 public class DataLoader {
 
+    static final String STUDENT_HEADER = "StudentID,Name,Major,Year,Email,Password";
+    static final String COMPANY_REP_HEADER = "CompanyRepID,Name,CompanyName,Department,Position,Email,Status,Password";
+    static final String STAFF_HEADER = "StaffID,Name,Role,Department,Email,Password";
+
     // ---------- LOAD USERS ----------
     public static void loadUsers(UserManager userManager,
                                  String studentFile,
                                  String companyFile,
                                  String staffFile) {
 
-        // --- Load Students ---
-        List<String[]> studentRecords = FileHandler.readCSV(studentFile);
-        for (String[] r : studentRecords) {
-            try {
-                // CSV: StudentID, Name, Major, Year, Email
-                String id = r[0].trim();
-                String name = r[1].trim();
-                String major = r[2].trim();
-                int year = Integer.parseInt(r[3].trim());
-                String email = r[4].trim();
-                String password = (r.length > 5) ? r[5].trim() : "password";
-
-                userManager.addUser(new Student(name, id, email, password, year, major));
-            } catch (Exception e) {
-                System.out.println("Error loading student record: " + String.join(",", r));
-            }
+        UserRepository users = userManager.getRepository();
+        users.addAll(loadStudents(studentFile));
+        users.addAll(loadCompanyReps(companyFile));
+        users.addAll(loadStaff(staffFile));
+
+        System.out.println("✅ All user data loaded successfully ");
+    }
+
+    // The per-file loaders below are independent, so AppContext can run them concurrently.
+    // Each reads the role CSV, then replays the role's journal of row-level changes.
+
+    // --- Load Students ---
+    public static List<User> loadStudents(String studentFile) {
+        return loadRole(studentFile, DataLoader::parseStudent);
+    }
+
+    // --- Load Company Representatives ---
+    public static List<User> loadCompanyReps(String companyFile) {
+        return loadRole(companyFile, DataLoader::parseCompanyRep);
+    }
+
+    // --- Load Career Centre Staff ---
+    public static List<User> loadStaff(String staffFile) {
+        return loadRole(staffFile, DataLoader::parseStaff);
+    }
+
+    private static List<User> loadRole(String file, Function<CsvRow, User> parser) {
+        Map<String, User> loaded = new LinkedHashMap<>();
+        for (User u : FileHandler.parseParallel(file, true, parser)) {
+            loaded.putIfAbsent(u.getUserId().trim().toLowerCase(), u);
         }
 
-        // --- Load Company Representatives ---
-        List<String[]> companyRecords = FileHandler.readCSV(companyFile);
-        for (String[] r : companyRecords) {
-            try {
-                // CSV: CompanyRepID, Name, CompanyName, Department, Position, Email, Status
-                String id = r[0].trim();
-                String name = r[1].trim();
-                String companyName = r[2].trim();
-                String department = r[3].trim();
-                String position = r[4].trim();
-                String email = r[5].trim();
-                String statusStr = r[6].trim().toUpperCase();
-                String password = (r.length > 7) ? r[7].trim() : "password";
-
-                AccountStatus status;
-                try {
-                    status = AccountStatus.valueOf(statusStr);
-                } catch (IllegalArgumentException e) {
-                    status = AccountStatus.PENDING;
-                }
-
-                userManager.addUser(new CompanyRepresentative(
-                        name, id, email, password, companyName, department, position, status
-                ));
-            } catch (Exception e) {
-                System.out.println("Error loading company representative record: " + String.join(",", r));
-            }
+        // Journal records are full rows; the latest one for a user wins
+        new Journal(Journal.pathFor(file)).replay(Journal.snapshotGeneration(file), (op, row) -> {
+            User u = parser.apply(row);
+            if (u != null) loaded.put(u.getUserId().trim().toLowerCase(), u);
+        });
+        return new ArrayList<>(loaded.values());
+    }
+
+    // ---------- ROW FORMATS ----------
+    static User parseStudent(CsvRow r) {
+        try {
+            // CSV: StudentID, Name, Major, Year, Email
+            String id = r.get(0);
+            String name = r.get(1);
+            String major = r.get(2);
+            int year = Integer.parseInt(r.get(3));
+            String email = r.get(4);
+            String password = (r.size() > 5) ? r.get(5) : "password";
+
+            return new Student(name, id, email, password, year, major);
+        } catch (Exception e) {
+            System.out.println("Error loading student record: " + r);
+            return null;
         }
+    }
 
-        // --- Load Career Centre Staff ---
-        List<String[]> staffRecords = FileHandler.readCSV(staffFile);
-        for (String[] r : staffRecords) {
+    static User parseCompanyRep(CsvRow r) {
+        try {
+            // CSV: CompanyRepID, Name, CompanyName, Department, Position, Email, Status
+            String id = r.get(0);
+            String name = r.get(1);
+            String companyName = r.get(2);
+            String department = r.get(3);
+            String position = r.get(4);
+            String email = r.get(5);
+            String statusStr = r.get(6).toUpperCase();
+            String password = (r.size() > 7) ? r.get(7) : "password";
+
+            AccountStatus status;
             try {
-                // CSV: StaffID, Name, Role, Department, Email
-                String id = r[0].trim();
-                String name = r[1].trim();
-                String role = r[2].trim();
-                String department = r[3].trim();
-                String email = r[4].trim();
-                String password = (r.length > 5) ? r[5].trim() : "password";
-
-
-                CareerCenterStaff staff = new CareerCenterStaff(name, id, email, password, department);
-                userManager.addUser(staff);
-            } catch (Exception e) {
-                System.out.println("Error loading staff record: " + String.join(",", r));
+                status = AccountStatus.valueOf(statusStr);
+            } catch (IllegalArgumentException e) {
+                status = AccountStatus.PENDING;
             }
+
+            return new CompanyRepresentative(
+                    name, id, email, password, companyName, department, position, status
+            );
+        } catch (Exception e) {
+            System.out.println("Error loading company representative record: " + r);
+            return null;
         }
+    }
 
-        System.out.println("✅ All user data loaded successfully ");
+    static User parseStaff(CsvRow r) {
+        try {
+            // CSV: StaffID, Name, Role, Department, Email
+            String id = r.get(0);
+            String name = r.get(1);
+            String role = r.get(2);
+            String department = r.get(3);
+            String email = r.get(4);
+            String password = (r.size() > 5) ? r.get(5) : "password";
+
+
+            return new CareerCenterStaff(name, id, email, password, department);
+        } catch (Exception e) {
+            System.out.println("Error loading staff record: " + r);
+            return null;
+        }
+    }
+
+    /** CSV row for a user, in the column order of its role file */
+    static String[] toRow(User user) {
+        if (user instanceof Student s) {
+            return new String[]{s.getUserId(), s.getName(), s.getMajor(),
+                    String.valueOf(s.getYearOfStudy()), s.getEmail(), s.getPassword()};
+        } else if (user instanceof CompanyRepresentative rep) {
+            return new String[]{rep.getUserId(), rep.getName(), rep.getCompanyName(),
+                    rep.getDepartment(), rep.getPosition(),
+                    rep.getEmail(), rep.getAccountStatus().name(), rep.getPassword()};
+        } else if (user instanceof CareerCenterStaff staff) {
+            return new String[]{staff.getUserId(), staff.getName(), staff.getRole(),
+                    staff.getStaffDepartment(), staff.getEmail(), staff.getPassword()};
+        }
+        throw new IllegalArgumentException("Unknown user type: " + user.getClass().getName());
     }
 
 //    // ---------- LOAD INTERNSHIPS ----------
@@ -111,87 +169,68 @@ public class DataLoader {
 //    }
     // ---------- APPEND NEW USER ----------
     public static void appendNewUser(User user) {
-        if (user instanceof Student s) {
-            // Student: StudentID, Name, Major, Year, Email
-            FileHandler.appendToCSV("data/sample_student_list.csv",
-                    new String[]{s.getUserId(), s.getName(), s.getMajor(),
-                            String.valueOf(s.getYearOfStudy()), s.getEmail(),s.getPassword()});
-
-        } else if (user instanceof CompanyRepresentative rep) {
-            // CompanyRep: CompanyRepID, Name, CompanyName, Department, Position, Email, Status
-            FileHandler.appendToCSV("data/sample_company_representative_list.csv",
-                    new String[]{rep.getUserId(), rep.getName(), rep.getCompanyName(),
-                            rep.getDepartment(), rep.getPosition(),
-                            rep.getEmail(), rep.getAccountStatus().name(),rep.getPassword()});
-
-        } else if (user instanceof CareerCenterStaff staff) {
-            // Staff: StaffID, Name, Role, Department, Email
-            FileHandler.appendToCSV("data/sample_staff_list.csv",
-                    new String[]{staff.getUserId(), staff.getName(), staff.getRole(),
-                            staff.getStaffDepartment(), staff.getEmail(),staff.getPassword()});
+        if (user instanceof Student) {
+            FileHandler.appendToCSV("data/sample_student_list.csv", toRow(user));
+        } else if (user instanceof CompanyRepresentative) {
+            FileHandler.appendToCSV("data/sample_company_representative_list.csv", toRow(user));
+        } else if (user instanceof CareerCenterStaff) {
+            FileHandler.appendToCSV("data/sample_staff_list.csv", toRow(user));
         }
     }
 
     // ---------- UPDATE EXISTING USER ----------
+    // Records only the changed row; the role file is rewritten when its journal is compacted
     public static void updateUser(User user, UserManager userManager) {
-        if (user instanceof Student) {
-            saveStudents("data/sample_student_list.csv", userManager);
-        } else if (user instanceof CompanyRepresentative) {
-            saveCompanyReps("data/sample_company_representative_list.csv", userManager);
-        } else if (user instanceof CareerCenterStaff) {
-            saveStaff("data/sample_staff_list.csv", userManager);
-        }
+        userManager.getRepository().update(user);
     }
+
     // ---------- SAVE STUDENTS ----------
     public static void saveStudents(String filePath, UserManager userManager) {
-        List<String[]> rows = new ArrayList<>();
-        String header = "StudentID,Name,Major,Year,Email,Password";
-
-        for (User u : userManager.getAllUsers()) {
-            if (u instanceof Student s) {
-                rows.add(new String[]{
-                        s.getUserId(), s.getName(), s.getMajor(),
-                        String.valueOf(s.getYearOfStudy()), s.getEmail(), s.getPassword()
-                });
-            }
-        }
+        writeStudents(filePath, userManager.getRepository().getStudents());
+    }
 
-        FileHandler.writeCSV(filePath, rows, header);
+    public static void writeStudents(String filePath, Collection<Student> students) {
+        writeStudents(filePath, students, 0);
+    }
+
+    /** @param journalGeneration recorded in the header when > 0 (see Journal); @return false if not written */
+    public static boolean writeStudents(String filePath, Collection<Student> students, long journalGeneration) {
+        return writeRole(filePath, students, STUDENT_HEADER, journalGeneration);
     }
 
     // ---------- SAVE COMPANY REPRESENTATIVES ----------
     public static void saveCompanyReps(String filePath, UserManager userManager) {
-        List<String[]> rows = new ArrayList<>();
-        String header = "CompanyRepID,Name,CompanyName,Department,Position,Email,Status,Password";
-
-        for (User u : userManager.getAllUsers()) {
-            if (u instanceof CompanyRepresentative rep) {
-                rows.add(new String[]{
-                        rep.getUserId(), rep.getName(), rep.getCompanyName(),
-                        rep.getDepartment(), rep.getPosition(),
-                        rep.getEmail(), rep.getAccountStatus().name(),rep.getPassword()
-                });
-            }
-        }
+        writeCompanyReps(filePath, userManager.getRepository().getCompanyReps());
+    }
+
+    public static void writeCompanyReps(String filePath, Collection<CompanyRepresentative> reps) {
+        writeCompanyReps(filePath, reps, 0);
+    }
 
-        FileHandler.writeCSV(filePath, rows, header);
+    public static boolean writeCompanyReps(String filePath, Collection<CompanyRepresentative> reps,
+                                           long journalGeneration) {
+        return writeRole(filePath, reps, COMPANY_REP_HEADER, journalGeneration);
     }
 
     // ---------- SAVE CAREER CENTER STAFF ----------
     public static void saveStaff(String filePath, UserManager userManager) {
-        List<String[]> rows = new ArrayList<>();
-        String header = "StaffID,Name,Role,Department,Email,Password";
-
-        for (User u : userManager.getAllUsers()) {
-            if (u instanceof CareerCenterStaff staff) {
-                rows.add(new String[]{
-                        staff.getUserId(), staff.getName(), staff.getRole(),
-                        staff.getStaffDepartment(), staff.getEmail(),staff.getPassword()
-                });
-            }
-        }
+        writeStaff(filePath, userManager.getRepository().getStaff());
+    }
+
+    public static void writeStaff(String filePath, Collection<CareerCenterStaff> staff) {
+        writeStaff(filePath, staff, 0);
+    }
 
-        FileHandler.writeCSV(filePath, rows, header);
+    public static boolean writeStaff(String filePath, Collection<CareerCenterStaff> staff, long journalGeneration) {
+        return writeRole(filePath, staff, STAFF_HEADER, journalGeneration);
+    }
+
+    private static boolean writeRole(String filePath, Collection<? extends User> users, String header,
+                                     long journalGeneration) {
+        List<String[]> rows = new ArrayList<>(users.size());
+        for (User u : users) rows.add(toRow(u));
+        if (journalGeneration > 0) header = Journal.snapshotHeader(header, journalGeneration);
+        return FileHandler.writeCSV(filePath, rows, header);
     }
 
     // ---------- SAVE INTERNSHIPS ----------
@@ -202,6 +241,12 @@ public class DataLoader {
 
     // ---------- FULL SAVE (BACKUP) ----------
     public static void saveAllUsers(UserManager userManager) {
+        UserRepository users = userManager.getRepository();
+        if (users.isJournaled()) {
+            users.saveAll(); // its own files; also clears the journals
+            System.out.println(" All user data saved successfully.");
+            return;
+        }
         saveStudents("data/sample_student_list.csv", userManager);
         saveCompanyReps("data/sample_company_representative_list.csv", userManager);
         saveStaff("data/sample_staff_list.csv", userManager);
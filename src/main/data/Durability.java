@@ -0,0 +1,10 @@
+package main.data;
+
+/**
+ * How hard FileHandler works to get a write onto disk before returning.
+ */
+public enum Durability {
+    NONE,   // rewrite files in place, no explicit sync (fastest, a crash can leave a half-written file)
+    FLUSH,  // write a temp file and atomically rename it over the original (survives a process crash)
+    FSYNC   // as FLUSH, plus fsync the file and its directory (survives power loss)
+}
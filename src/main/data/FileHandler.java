@@ -1,15 +1,32 @@
 package main.data;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 
 /**
  * FileHandler - Handles all CSV file input/output operations
  *
  * RESPONSIBILITIES:
- *  - Read CSV files and return data as List<String[]>
- *  - Write data (List<String[]>) back to CSV files
+ *  - Stream CSV records to a callback (forEachRow) or return them as List<String[]>
+ *  - Parse large files in parallel chunks (parseParallel)
+ *  - Write data (List<String[]>) back to CSV files with proper quoting
+ *  - Replace files atomically (temp file + rename) at the configured Durability level
+ *
+ * The durability level defaults to FSYNC and can be set with the system
+ * property ips.durability (NONE / FLUSH / FSYNC) or setDurability().
  *
  * OOP & SOLID PRINCIPLES:
  *  - SINGLE RESPONSIBILITY: Handles only file reading/writing
@@ -18,73 +35,283 @@ import java.util.List;
  */
 public class FileHandler {
 
+    private static volatile Durability durability = readDurabilityProperty();
+
+    // Files smaller than this are parsed on the calling thread
+    private static final long PARALLEL_THRESHOLD_BYTES = 1 << 20;
+
+    /** Callback for streaming reads. The row is reused; copy out what you keep. */
+    @FunctionalInterface
+    public interface RowHandler {
+        void handle(CsvRow row);
+    }
+
     /**
-     * Reads a CSV file and returns the content as a List of String arrays.
-     * Each row corresponds to one record.
+     * Streams every record of a CSV file to the handler, without building
+     * an intermediate list.
      *
-     * @param filePath Path to the CSV file
-     * @return List of String[] containing rows of the CSV
+     * @param filePath  Path to the CSV file
+     * @param hasHeader Whether to skip the first record
+     * @param handler   Called once per record
      */
-    public static List<String[]> readCSV(String filePath) {
-        List<String[]> records = new ArrayList<>();
-
+    public static void forEachRow(String filePath, boolean hasHeader, RowHandler handler) {
         File file = new File(filePath);
         if (!file.exists()) {
             System.out.println("File not found: " + filePath);
-            return records;
+            return;
         }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            boolean headerSkipped = false;
+        try (CsvReader reader = CsvReader.open(filePath)) {
+            boolean headerSkipped = !hasHeader;
 
-            while ((line = br.readLine()) != null) {
-                // Skip empty lines
-                if (line.trim().isEmpty()) continue;
-
-                // Skip header (first line)
-                if (!headerSkipped && line.toLowerCase().contains("name")) {
+            while (reader.next()) {
+                if (!headerSkipped) {
                     headerSkipped = true;
                     continue;
                 }
-
-                String[] values = line.split(",", -1); // keep empty fields
-                for (int i = 0; i < values.length; i++) {
-                    values[i] = values[i].trim();
-                }
-                records.add(values);
+                handler.handle(reader.row());
             }
         } catch (IOException e) {
             System.out.println("Error reading file: " + filePath);
             e.printStackTrace();
         }
+    }
+
+    /**
+     * Parses a CSV file into entities. Files above 1 MB are split into one chunk
+     * per core at record boundaries (quote-aware) and the chunks are parsed on the
+     * common ForkJoinPool; results keep file order.
+     *
+     * @param filePath  Path to the CSV file
+     * @param hasHeader Whether to skip the first record
+     * @param mapper    Builds one entity per row (null to skip the row); must be thread-safe
+     * @return Entities in file order
+     */
+    public static <T> List<T> parseParallel(String filePath, boolean hasHeader, Function<CsvRow, T> mapper) {
+        File file = new File(filePath);
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        if (!file.exists() || file.length() < PARALLEL_THRESHOLD_BYTES || cores < 2) {
+            List<T> result = new ArrayList<>();
+            forEachRow(filePath, hasHeader, row -> {
+                T item = mapper.apply(row);
+                if (item != null) result.add(item);
+            });
+            return result;
+        }
+
+        // new String(bytes, UTF_8) replaces malformed bytes, like CsvReader.open; Files.readString would throw.
+        // A file that cannot be read at all fails the load rather than loading as an empty table
+        String text;
+        try {
+            text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading file: " + filePath, e);
+        }
+
+        List<Integer> bounds = chunkBoundaries(text, cores);
+        List<CompletableFuture<List<T>>> chunks = new ArrayList<>();
+        for (int c = 0; c + 1 < bounds.size(); c++) {
+            int start = bounds.get(c), end = bounds.get(c + 1);
+            boolean skipHeader = hasHeader && c == 0;
+            chunks.add(CompletableFuture.supplyAsync(() -> parseChunk(text, start, end, skipHeader, mapper)));
+        }
+
+        List<T> result = new ArrayList<>();
+        for (CompletableFuture<List<T>> chunk : chunks) result.addAll(chunk.join());
+        return result;
+    }
+
+    private static <T> List<T> parseChunk(String text, int start, int end, boolean skipHeader,
+                                          Function<CsvRow, T> mapper) {
+        List<T> result = new ArrayList<>();
+        try (CsvReader reader = CsvReader.over(text, start, end)) {
+            boolean headerSkipped = !skipHeader;
+            while (reader.next()) {
+                if (!headerSkipped) {
+                    headerSkipped = true;
+                    continue;
+                }
+                T item = mapper.apply(reader.row());
+                if (item != null) result.add(item);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory reader; cannot happen
+        }
+        return result;
+    }
 
+    // Splits text into about n ranges, cutting only at line breaks outside quoted fields
+    private static List<Integer> chunkBoundaries(String text, int n) {
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(0);
+        int target = text.length() / n;
+        int next = target;
+        boolean inQuotes = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') inQuotes = !inQuotes;
+            else if (c == '\n' && !inQuotes && i >= next) {
+                bounds.add(i + 1);
+                next = i + 1 + target;
+            }
+        }
+        if (bounds.get(bounds.size() - 1) < text.length()) bounds.add(text.length());
+        return bounds;
+    }
+
+    /**
+     * Reads a CSV file and returns the content as a List of String arrays.
+     * Each row corresponds to one record; the header line is skipped.
+     *
+     * @param filePath Path to the CSV file
+     * @return List of String[] containing rows of the CSV
+     */
+    public static List<String[]> readCSV(String filePath) {
+        return readCSV(filePath, true);
+    }
+
+    /**
+     * Reads a CSV file, optionally without a header line (e.g. journal files).
+     *
+     * @param filePath  Path to the CSV file
+     * @param hasHeader Whether to skip the header line
+     * @return List of String[] containing rows of the CSV
+     */
+    public static List<String[]> readCSV(String filePath, boolean hasHeader) {
+        List<String[]> records = new ArrayList<>();
+        forEachRow(filePath, hasHeader, row -> records.add(row.toArray()));
         return records;
     }
 
+    // ---------- DURABILITY ----------
+    public static Durability getDurability() {
+        return durability;
+    }
+
+    public static void setDurability(Durability level) {
+        durability = level;
+    }
+
+    private static Durability readDurabilityProperty() {
+        try {
+            return Durability.valueOf(System.getProperty("ips.durability", "FSYNC").trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.out.println("Unknown ips.durability value, using FSYNC");
+            return Durability.FSYNC;
+        }
+    }
+
+    /** Produces the full content of a file being written by writeAtomically */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
     /**
-     * Writes data to a CSV file. Overwrites existing file content.
+     * Replaces a file's content. Unless durability is NONE, the content goes to a
+     * temp file in the same directory which is then renamed over the original, so
+     * readers only ever see the old or the new file, never a partial one.
      *
      * @param filePath Path to write to
-     * @param rows     List of String[] rows to write
-     * @param header   Header line for CSV file
+     * @param content  Writes the complete new content
      */
-    public static void writeCSV(String filePath, List<String[]> rows, String header) {
-        try (FileWriter writer = new FileWriter(filePath)) {
-            // Write header
-            if (header != null && !header.isEmpty()) {
-                writer.append(header).append("\n");
+    public static void writeAtomically(String filePath, ContentWriter content) throws IOException {
+        Durability level = durability;
+        Path target = Path.of(filePath).toAbsolutePath();
+
+        if (level == Durability.NONE) {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), 1 << 16)) {
+                content.writeTo(out);
             }
+            return;
+        }
 
-            // Write rows
-            for (String[] row : rows) {
-                writer.append(String.join(",", row)).append("\n");
+        Path dir = target.getParent();
+        Path tmp = createTempSibling(target);
+        try {
+            copyPermissions(target, tmp);
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE);
+                 OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16)) {
+                content.writeTo(out);
+                out.flush();
+                if (level == Durability.FSYNC) channel.force(true);
             }
 
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            if (level == Durability.FSYNC) syncDirectory(dir);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Created like any new file (umask default), not 0600 as Files.createTempFile would
+    private static Path createTempSibling(Path target) throws IOException {
+        while (true) {
+            Path tmp = target.resolveSibling(target.getFileName() + "."
+                    + Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36) + ".tmp");
+            try {
+                Files.newByteChannel(tmp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE).close();
+                return tmp;
+            } catch (FileAlreadyExistsException e) {
+                // name taken; try another
+            }
+        }
+    }
+
+    // The renamed file takes the temp file's mode, so give it the one the target has now
+    private static void copyPermissions(Path target, Path tmp) throws IOException {
+        if (!Files.exists(target)) return;
+        try {
+            Files.setPosixFilePermissions(tmp, Files.getPosixFilePermissions(target));
+        } catch (UnsupportedOperationException e) {
+            // not a POSIX file system; the platform's defaults apply
+        }
+    }
+
+    // Makes the rename itself durable. Not supported on every platform; best effort.
+    private static void syncDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {}
+    }
+
+    /**
+     * Writes data to a CSV file. Overwrites existing file content atomically.
+     *
+     * @param filePath Path to write to
+     * @param rows     List of String[] rows to write
+     * @param header   Header line for CSV file
+     * @return false if the file could not be written; it then keeps its old content
+     */
+    public static boolean writeCSV(String filePath, List<String[]> rows, String header) {
+        try {
+            writeAtomically(filePath, out -> {
+                CsvWriter writer = new CsvWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                // Write header
+                if (header != null && !header.isEmpty()) {
+                    writer.writeLine(header);
+                }
+
+                // Write rows
+                for (String[] row : rows) {
+                    writer.writeRow(row);
+                }
+                writer.flush();
+            });
+
 //            System.out.println("Saved successfully to: " + filePath);
+            return true;
         } catch (IOException e) {
             System.out.println("Error writing to file: " + filePath);
             e.printStackTrace();
+            return false;
         }
     }
 
@@ -96,17 +323,33 @@ public class FileHandler {
      * @param record   Record to append
      */
     public static void appendToCSV(String filePath, String[] record) {
-        try {
-            boolean fileExists = new File(filePath).exists();
-            try (FileWriter writer = new FileWriter(filePath, true)) {
-                if (!fileExists) {
-                    System.out.println("File did not exist, created new CSV: " + filePath);
-                }
-                writer.append(String.join(",", record)).append("\n");
+        appendAllToCSV(filePath, List.<String[]>of(record));
+    }
+
+    /**
+     * Appends several records to a CSV file with a single open/write.
+     * Automatically creates the file if it does not exist.
+     * With FSYNC durability the records are forced to disk before returning.
+     *
+     * @param filePath Path to CSV file
+     * @param records  Records to append
+     * @return false if the records could not be written
+     */
+    public static boolean appendAllToCSV(String filePath, List<String[]> records) {
+        boolean fileExists = new File(filePath).exists();
+        try (CsvWriter writer = CsvWriter.open(filePath, true)) {
+            if (!fileExists) {
+                System.out.println("File did not exist, created new CSV: " + filePath);
+            }
+            for (String[] record : records) {
+                writer.writeRow(record);
             }
+            if (durability == Durability.FSYNC) writer.sync();
+            return true;
         } catch (IOException e) {
             System.out.println("Error appending to file: " + filePath);
             e.printStackTrace();
+            return false;
         }
     }
 }
@@ -0,0 +1,20 @@
+package main.data;
+
+/**
+ * FlushableRepository - A repository that buffers changes in memory
+ * and writes them out when flushed.
+ *
+ * Implemented by the internship and application repositories so a
+ * WriteBehindFlusher can coalesce their writes in the background.
+ */
+public interface FlushableRepository {
+
+    /** Number of entities changed since the last flush */
+    int dirtyCount();
+
+    /** Writes all pending changes to disk before returning */
+    void flush();
+
+    /** Called when the repository is registered with a flusher */
+    void attach(WriteBehindFlusher flusher);
+}
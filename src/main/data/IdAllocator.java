@@ -0,0 +1,138 @@
+package main.data;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * IdAllocator - Hands out readable, unique IDs such as APP001, INT042, REP007
+ *
+ * RESPONSIBILITIES:
+ *  - One atomic counter per prefix, so concurrent callers never get the same ID
+ *  - Persist the counters with hi/lo block leasing: the file records the end of
+ *    the current block ("hi"), and IDs inside the block ("lo") are handed out
+ *    from memory. The file is written once per block, not once per ID.
+ *  - After a restart, counting resumes at the end of the last leased block;
+ *    the unused rest of that block is skipped, never reissued.
+ *
+ * seed() raises a counter above the IDs already in use, so data created before
+ * the sequence file existed (or with a lost file) cannot collide.
+ *
+ * FILE FORMAT (CSV): sequence,leasedUpTo
+ */
+public class IdAllocator {
+
+    public static final String APPLICATION = "APP";
+    public static final String INTERNSHIP = "INT";
+    public static final String COMPANY_REP = "REP";
+
+    public static final int DEFAULT_BLOCK_SIZE = 100;
+
+    private static final String CSV_HEADER = "sequence,leasedUpTo";
+
+    private final String filePath; // null for an in-memory allocator
+    private final int blockSize;
+    private final Map<String, Sequence> sequences = new ConcurrentHashMap<>();
+
+    private static class Sequence {
+        final AtomicLong next = new AtomicLong(1);
+        volatile long leasedUpTo = 1; // exclusive; IDs below this are covered by the file
+    }
+
+    /** Allocator that keeps its counters in memory only */
+    public IdAllocator() {
+        this(null, DEFAULT_BLOCK_SIZE);
+    }
+
+    public IdAllocator(String filePath) {
+        this(filePath, DEFAULT_BLOCK_SIZE);
+    }
+
+    public IdAllocator(String filePath, int blockSize) {
+        this.filePath = filePath;
+        this.blockSize = Math.max(1, blockSize);
+        if (filePath != null) load();
+    }
+
+    // --- ALLOCATE ---
+    /** Next ID for the prefix, e.g. nextId("APP") -> "APP001" */
+    public String nextId(String prefix) {
+        return String.format("%s%03d", prefix, next(prefix));
+    }
+
+    /** Next number for the prefix; never returns the same number twice */
+    public long next(String prefix) {
+        Sequence seq = sequence(prefix);
+        long n = seq.next.getAndIncrement();
+        if (n >= seq.leasedUpTo) lease(seq, n);
+        return n;
+    }
+
+    // Only the caller that crosses the block boundary writes the file; the others
+    // in that block wait here until the new block is on disk
+    private synchronized void lease(Sequence seq, long n) {
+        if (n < seq.leasedUpTo) return;
+        long hi = n + blockSize;
+        if (filePath != null) save(seq, hi);
+        seq.leasedUpTo = hi;
+    }
+
+    // --- SEED FROM EXISTING DATA ---
+    /**
+     * Makes sure future IDs for the prefix are above every numbered ID in existingIds
+     * (IDs with another prefix or no number are ignored).
+     */
+    public synchronized void seed(String prefix, Collection<String> existingIds) {
+        long max = 0;
+        for (String id : existingIds) max = Math.max(max, numberOf(prefix, id));
+
+        Sequence seq = sequence(prefix);
+        seq.next.accumulateAndGet(max + 1, Math::max);
+    }
+
+    /** The number in an ID such as APP012 (12), or -1 if the ID does not have that form */
+    public static long numberOf(String prefix, String id) {
+        if (id == null || id.length() <= prefix.length() || !id.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(id.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Sequence sequence(String prefix) {
+        return sequences.computeIfAbsent(prefix.toUpperCase(), k -> new Sequence());
+    }
+
+    // --- PERSISTENCE ---
+    private void load() {
+        if (!new File(filePath).exists()) return;
+        FileHandler.forEachRow(filePath, true, row -> {
+            try {
+                long hi = Long.parseLong(row.get(1));
+                Sequence seq = sequence(row.get(0));
+                seq.next.set(hi);
+                seq.leasedUpTo = hi;
+            } catch (Exception e) {
+                System.err.println("Skipping invalid sequence row: " + e.getMessage());
+            }
+        });
+    }
+
+    // Caller holds the lock; writes every sequence, with the one being leased at its new hi
+    private void save(Sequence leasing, long newHi) {
+        List<String[]> rows = new ArrayList<>();
+        for (Map.Entry<String, Sequence> e : new TreeMap<>(sequences).entrySet()) {
+            long hi = (e.getValue() == leasing) ? newHi : e.getValue().leasedUpTo;
+            rows.add(new String[]{e.getKey(), String.valueOf(hi)});
+        }
+        FileHandler.writeCSV(filePath, rows, CSV_HEADER);
+    }
+}
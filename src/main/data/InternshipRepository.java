@@ -4,8 +4,14 @@ import main.entity.Internship;
 import main.entity.enums.InternshipLevel;
 import main.entity.enums.InternshipStatus;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * InternshipRepository
@@ -13,131 +19,419 @@ import java.util.List;
  * Handles persistence (loading/saving) of Internship objects from/to CSV files.
  * Uses FileHandler for I/O.
  *
+ * PERSISTENCE:
+ *  - Each mutation marks the internship dirty. flush() writes the dirty set:
+ *    journaled mode (default) appends one record per dirty internship,
+ *    snapshot mode rewrites the whole CSV.
+ *  - With a WriteBehindFlusher attached, flushes are coalesced in the background;
+ *    without one, every mutation is flushed immediately.
+ *  - saveInternships() compacts the journal back into the CSV snapshot. The journal
+ *    is truncated only after the new CSV is in place, and a journal left over from
+ *    before a compaction is not replayed (see Journal's generations).
+ *  - A failed write leaves the changes dirty (or journaled) for the next flush.
+ *
+ * READS (copy-on-write):
+ *  - The internships and their indexes (ID, representative, status, level,
+ *    canonical major) live in an immutable InternshipCatalog held in a volatile field.
+ *  - Readers take the current catalog without locking; it never changes under them.
+ *  - Writers (synchronized) copy the internship, change the copy and publish a new
+ *    catalog version containing it. Callers must go through updateInternship /
+ *    updateStatus / updateVisibility; these return the newly published internship.
+ *  - Publishing copies the whole catalog, O(N) per write (see InternshipCatalog);
+ *    a reviewed batch is published with one rebuild instead.
+ *
+ * OPTIMISTIC CONCURRENCY:
+ *  - Every internship carries a version, +1 per published change and saved with it.
+ *  - The update methods are compare-and-set: the internship passed in must carry the
+ *    version that is current, or a VersionConflictException is thrown and nothing is
+ *    written. A stale write can no longer silently overwrite a newer one.
+ *  - Slot transitions are not versioned; the SlotLedger makes them atomic on its own.
+ *
  * OOP & SOLID:
  *  - SINGLE RESPONSIBILITY: Only manages internship data access.
  *  - DEPENDENCY INVERSION: Depends on FileHandler abstraction for I/O.
  */
-public class InternshipRepository {
+public class InternshipRepository implements FlushableRepository {
 
-    private final List<Internship> internships;
+    private volatile InternshipCatalog catalog;
     private final String filePath;
+    private final Journal journal; // null in snapshot mode
+
+    // IDs (lower-cased) of internships changed since the last flush -> journal operation tag;
+    // the current version is looked up at flush time
+    private final Map<String, String> dirty = new LinkedHashMap<>();
+    private WriteBehindFlusher flusher;
 
     // CSV header — used by FileHandler.writeCSV
     private static final String CSV_HEADER =
-            "id,title,description,level,major,openDate,closeDate,status,company,repId,totalSlots,slotsLeft,visible";
+            "id,title,description,level,major,openDate,closeDate,status,company,repId,totalSlots,slotsLeft,visible,version";
+
+    // Journal operation tags
+    private static final String OP_ADD = "ADD";
+    private static final String OP_EDIT = "EDIT";
+    private static final String OP_STATUS = "STATUS";
+    private static final String OP_SLOTS = "SLOTS";
+    private static final String OP_VISIBLE = "VISIBLE";
 
     public InternshipRepository(String filePath) {
+        this(filePath, true);
+    }
+
+    public InternshipRepository(String filePath, boolean journaled) {
+        this(filePath, journaled, null);
+    }
+
+    /**
+     * @param preloaded internships already read elsewhere (e.g. a BinarySnapshot);
+     *                  null to load the CSV and replay the journal
+     */
+    public InternshipRepository(String filePath, boolean journaled, List<Internship> preloaded) {
         this.filePath = filePath;
-        this.internships = loadInternships();
+        this.journal = journaled ? new Journal(Journal.pathFor(filePath)) : null;
+        this.catalog = InternshipCatalog.of(preloaded != null ? preloaded : loadInternships());
+        if (preloaded != null && journal != null) journal.open(Journal.snapshotGeneration(filePath));
+    }
+
+    // --- CURRENT CATALOG (lock-free) ---
+    /** The current catalog version; use one catalog for all lookups that must agree */
+    public InternshipCatalog snapshot() {
+        return catalog;
     }
 
     // --- ADD ---
-    public void addInternship(Internship internship) {
-        internships.add(internship);
+    public synchronized void addInternship(Internship internship) {
+        catalog = catalog.withAdded(internship);
+        persist(OP_ADD, internship);
     }
 
     // --- GET ALL ---
     public List<Internship> getAllInternships() {
-        return internships;
+        return catalog.all();
     }
 
     // --- FIND BY ID ---
     public Internship findById(String internshipId) {
-        for (Internship i : internships) {
-            if (i.getInternshipId().equalsIgnoreCase(internshipId)) {
-                return i;
-            }
-        }
-        return null;
+        return catalog.findById(internshipId);
     }
 
     // --- UPDATE ---
-    public void updateInternship(Internship updated) {
-        for (int j = 0; j < internships.size(); j++) {
-            if (internships.get(j).getInternshipId().equalsIgnoreCase(updated.getInternshipId())) {
-                internships.set(j, updated);
-                return;
-            }
+    /**
+     * Publishes an edited copy (see Internship.copy()) in place of the current version.
+     * The copy keeps the version it was taken from; that must still be the current one.
+     *
+     * @return the published internship, or null if the ID is unknown
+     * @throws VersionConflictException if the internship changed since the copy was taken
+     * @throws IllegalArgumentException if given the published instance itself rather than a copy
+     */
+    public synchronized Internship updateInternship(Internship updated) {
+        Internship existing = catalog.findById(updated.getInternshipId());
+        if (existing == null) return null;
+
+        // Readers may hold the published instance; editing it in place would change what they see
+        if (existing == updated) {
+            throw new IllegalArgumentException("Internship " + updated.getInternshipId()
+                    + " is the published version; edit a copy() and publish that instead.");
         }
+        checkVersion(existing, updated.getVersion());
+        updated.setVersion(existing.getVersion() + 1);
+        catalog = catalog.withReplaced(existing, updated);
+        // Only now, with the edit published, may the live ledger take the new slot count
+        updated.getSlotLedger().setCapacity(updated.getNumSlots());
+        persist(OP_EDIT, updated);
+        return updated;
     }
 
-    // --- SAVE TO CSV ---
-    public void saveInternships() {
-        List<String[]> data = new ArrayList<>();
+    // --- UPDATE STATUS ---
+    /**
+     * @param internship the version the caller decided on
+     * @return the published internship, or null if the ID is unknown
+     * @throws VersionConflictException if that is no longer the current version
+     */
+    public synchronized Internship updateStatus(Internship internship, InternshipStatus newStatus) {
+        Internship current = catalog.findById(internship.getInternshipId());
+        if (current == null) return null;
+        checkVersion(current, internship.getVersion());
+
+        Internship next = current.copy();
+        next.setStatus(newStatus);
+        next.setVersion(current.getVersion() + 1);
+        catalog = catalog.withReplaced(current, next);
+        persist(OP_STATUS, next);
+        return next;
+    }
+
+    // --- UPDATE STATUS (BATCH) ---
+    /**
+     * Sets the status of several internships as one change: readers see all of them
+     * change together (one new catalog), and the records are written to disk in one
+     * journal append before this returns, whether or not a flusher is attached.
+     *
+     * Each internship passed in is the version the caller decided on. Those that are
+     * no longer current, or whose ID is unknown, are left out; the rest are applied.
+     *
+     * @return the published internships, in the order given
+     */
+    public synchronized List<Internship> updateStatuses(Collection<Internship> internships,
+                                                        InternshipStatus newStatus) {
+        IdentityHashMap<Internship, Internship> replacements = new IdentityHashMap<>();
+        List<Internship> published = new ArrayList<>();
+        for (Internship seen : internships) {
+            Internship current = catalog.findById(seen.getInternshipId());
+            if (current == null || current.getVersion() != seen.getVersion()
+                    || replacements.containsKey(current)) continue;
 
+            Internship next = current.copy();
+            next.setStatus(newStatus);
+            next.setVersion(current.getVersion() + 1);
+            replacements.put(current, next);
+            published.add(next);
+        }
+        if (published.isEmpty()) return published;
+
+        catalog = catalog.withReplacedAll(replacements);
+        for (Internship next : published) {
+            dirty.merge(InternshipCatalog.idKey(next.getInternshipId()), OP_STATUS,
+                    (old, cur) -> OP_ADD.equals(old) ? old : cur);
+        }
+        flush(); // one commit for the batch
+        return published;
+    }
+
+    // --- UPDATE VISIBILITY ---
+    /**
+     * @param internship the version the caller decided on
+     * @return the published internship, or null if the ID is unknown
+     * @throws VersionConflictException if that is no longer the current version
+     */
+    public synchronized Internship updateVisibility(Internship internship, boolean visible) {
+        Internship current = catalog.findById(internship.getInternshipId());
+        if (current == null) return null;
+        checkVersion(current, internship.getVersion());
+
+        Internship next = current.copy();
+        next.setVisible(visible);
+        next.setVersion(current.getVersion() + 1);
+        catalog = catalog.withReplaced(current, next);
+        persist(OP_VISIBLE, next);
+        return next;
+    }
+
+    private static void checkVersion(Internship current, long expectedVersion) {
+        if (current.getVersion() != expectedVersion) {
+            throw new VersionConflictException("Internship", current.getInternshipId(),
+                    expectedVersion, current.getVersion());
+        }
+    }
+
+    // --- SLOT TRANSITIONS (atomic; persisted only when they succeed) ---
+    // The ledger is shared by every version of the internship, so no new catalog is needed
+    public boolean reserveSlot(Internship internship) {
+        return slotChange(internship, internship.reserveSlot());
+    }
+
+    public boolean confirmSlot(Internship internship) {
+        return slotChange(internship, internship.confirmSlot());
+    }
+
+    public boolean releaseSlot(Internship internship) {
+        return slotChange(internship, internship.releaseSlot());
+    }
+
+    private boolean slotChange(Internship internship, boolean changed) {
+        if (changed) persist(OP_SLOTS, internship);
+        return changed;
+    }
+
+    /**
+     * Writes the current slot counts of several internships in one commit, for callers
+     * that changed the ledgers directly as part of a batch (see ApplicationManager.reviewApplications).
+     */
+    public synchronized void persistSlots(Collection<Internship> internships) {
+        if (internships.isEmpty()) return;
         for (Internship i : internships) {
-            data.add(new String[]{
-                    i.getInternshipId(),
-                    i.getTitle(),
-                    i.getDescription(),
-                    i.getLevel().name(),
-                    i.getPreferredMajor(),
-                    i.getOpeningDate(),
-                    i.getClosingDate(),
-                    i.getStatus().name(),
-                    i.getCompanyName(),
-                    i.getRepresentativeId(),
-                    String.valueOf(i.getNumSlots()),
-                    String.valueOf(i.getSlotsLeft()),
-                    String.valueOf(i.isVisible())
-            });
+            dirty.merge(InternshipCatalog.idKey(i.getInternshipId()), OP_SLOTS,
+                    (old, cur) -> OP_ADD.equals(old) ? old : cur);
         }
+        flush();
+    }
 
-        FileHandler.writeCSV(filePath, data, CSV_HEADER);
+    // --- DIRTY TRACKING ---
+    private void persist(String op, Internship internship) {
+        synchronized (this) {
+            // Several changes to one internship collapse into one record; keep ADD as the tag
+            dirty.merge(InternshipCatalog.idKey(internship.getInternshipId()), op,
+                    (old, cur) -> OP_ADD.equals(old) ? old : cur);
+        }
+        if (flusher != null && flusher.isRunning()) flusher.onChange();
+        else flush();
     }
 
-    // --- LOAD FROM CSV ---
-    private List<Internship> loadInternships() {
-        List<Internship> list = new ArrayList<>();
-        List<String[]> raw = FileHandler.readCSV(filePath);
-        boolean headerSkipped = false;
+    @Override
+    public synchronized int dirtyCount() {
+        return dirty.size();
+    }
 
+    @Override
+    public synchronized void flush() {
+        if (dirty.isEmpty()) return;
+        if (journal == null) {
+            saveInternships();
+            return;
+        }
+        List<String[]> records = new ArrayList<>(dirty.size());
+        for (Map.Entry<String, String> e : dirty.entrySet()) {
+            Internship current = catalog.findById(e.getKey());
+            if (current != null) records.add(Journal.record(e.getValue(), toRow(current)));
+        }
+        if (!journal.appendAll(records)) return; // still dirty: retried on the next flush
+        dirty.clear();
+        if (journal.needsCompaction()) saveInternships();
+    }
 
-        for (String[] row : raw) {
-            try {
-                // Expected CSV: id, title, desc, level, major, open, close, status, company, repId, slots, slotsLeft visible
+    @Override
+    public void attach(WriteBehindFlusher flusher) {
+        this.flusher = flusher;
+    }
 
-                if (row.length == 0 || row[0].trim().isEmpty()) continue;
-                if (!headerSkipped && row[0].toLowerCase().contains("id")) {
-                    headerSkipped = true;
-                    continue;
-                }
-                if (row.length < 13) continue;
+    // --- INDEXED LOOKUPS (current catalog; lists are unmodifiable) ---
+    public List<Internship> findByRepresentative(String repId) {
+        return catalog.findByRepresentative(repId);
+    }
 
-                // --- LEVEL ---
-                InternshipLevel level;
+    public int countByRepresentative(String repId) {
+        return catalog.countByRepresentative(repId);
+    }
 
+    public List<Internship> findByStatus(InternshipStatus status) {
+        return catalog.findByStatus(status);
+    }
+
+    public List<Internship> findByLevel(InternshipLevel level) {
+        return catalog.findByLevel(level);
+    }
+
+    public List<Internship> findByMajor(String major) {
+        return catalog.findByMajor(major);
+    }
+
+    /**
+     * Returns internships whose canonical major satisfies the given test.
+     * The test runs once per distinct major, not once per internship.
+     */
+    public List<Internship> findByMajorMatching(Predicate<String> majorTest) {
+        return catalog.findByMajorMatching(majorTest);
+    }
+
+    /** Internships opening between the two dates, inclusive, in opening-date order */
+    public List<Internship> findOpeningBetween(LocalDate from, LocalDate to) {
+        return catalog.findOpeningBetween(from, to);
+    }
+
+    /** Internships closing between the two dates, inclusive, in closing-date order */
+    public List<Internship> findClosingBetween(LocalDate from, LocalDate to) {
+        return catalog.findClosingBetween(from, to);
+    }
+
+    // --- SAVE TO CSV (also compacts the journal) ---
+    public synchronized void saveInternships() {
+        List<String[]> data = new ArrayList<>();
+
+        for (Internship i : catalog.all()) {
+            data.add(toRow(i));
+        }
+
+        // The journal is only dropped once the new CSV is in place; if the rewrite fails,
+        // the old CSV plus the journal still hold every change, and the next flush retries
+        long generation = journal == null ? 0 : journal.generation() + 1;
+        String header = journal == null ? CSV_HEADER : Journal.snapshotHeader(CSV_HEADER, generation);
+        if (!FileHandler.writeCSV(filePath, data, header)) return;
+        if (journal != null) journal.reset(generation);
+        dirty.clear();
+    }
+
+    private static String[] toRow(Internship i) {
+        return new String[]{
+                i.getInternshipId(),
+                i.getTitle(),
+                i.getDescription(),
+                i.getLevel().name(),
+                i.getPreferredMajor(),
+                i.getOpeningDate(),
+                i.getClosingDate(),
+                i.getStatus().name(),
+                i.getCompanyName(),
+                i.getRepresentativeId(),
+                String.valueOf(i.getNumSlots()),
+                String.valueOf(i.getSlotsLeft()),
+                String.valueOf(i.isVisible()),
+                String.valueOf(i.getVersion())
+        };
+    }
+
+    // --- LOAD FROM CSV, THEN REPLAY JOURNAL ---
+    private List<Internship> loadInternships() {
+        Map<String, Internship> loaded = new LinkedHashMap<>();
+
+        // Rows are parsed in parallel chunks for large files; the journal is replayed in order
+        for (Internship internship : FileHandler.parseParallel(filePath, true, InternshipRepository::parseRow)) {
+            loaded.put(InternshipCatalog.idKey(internship.getInternshipId()), internship);
+        }
+
+        if (journal != null) {
+            journal.replay(Journal.snapshotGeneration(filePath), (op, row) -> {
                 try {
-                    level = InternshipLevel.valueOf(row[3].trim().toUpperCase());
-                } catch (IllegalArgumentException e) {
-                    System.out.println("Unknown internship level: " + row[3] + " (defaulting to BASIC)");
-                    level = InternshipLevel.BASIC;
+                    Internship internship = fromRow(row);
+                    if (internship != null) loaded.put(InternshipCatalog.idKey(internship.getInternshipId()), internship);
+                } catch (Exception e) {
+                    System.err.println("Skipping invalid internship journal record: " + e.getMessage());
                 }
-                // Create internship using existing constructor (10 args)
-                Internship internship = new Internship(
-                        row[0], // internshipId
-                        row[1], // title
-                        row[2], // description
-                        level,
-                        row[4], // preferredMajor
-                        row[5], // openingDate
-                        row[6], // closingDate
-                        row[8], // companyName
-                        row[9], // representativeId
-                        Integer.parseInt(row[10]) // numSlots
-                );
-                internship.setSlotsLeft(Integer.parseInt(row[11]));
-                // Set persisted status & visibility
-                internship.setStatus(InternshipStatus.valueOf(row[7].toUpperCase()));
-                internship.setVisible(Boolean.parseBoolean(row[12]));
-
-                list.add(internship);
-
-            } catch (Exception e) {
-                System.err.println("Skipping invalid internship row: " + e.getMessage());
-            }
+            });
+        }
+
+        return new ArrayList<>(loaded.values());
+    }
+
+    private static Internship parseRow(CsvRow row) {
+        try {
+            return fromRow(row);
+        } catch (Exception e) {
+            System.err.println("Skipping invalid internship row: " + e.getMessage());
+            return null;
         }
+    }
+
+    private static Internship fromRow(CsvRow row) {
+        // Expected CSV: id, title, desc, level, major, open, close, status, company, repId, slots, slotsLeft, visible,
+        // version (files written before versions existed have no version column: version 1)
+        if (row.size() < 13 || row.get(0).isEmpty()) return null;
 
-        return list;
+        // --- LEVEL ---
+        InternshipLevel level;
+
+        try {
+            level = InternshipLevel.valueOf(row.get(3).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.out.println("Unknown internship level: " + row.get(3) + " (defaulting to BASIC)");
+            level = InternshipLevel.BASIC;
+        }
+        // Create internship using existing constructor (10 args)
+        Internship internship = new Internship(
+                row.get(0), // internshipId
+                row.get(1), // title
+                row.get(2), // description
+                level,
+                row.get(4), // preferredMajor
+                row.get(5), // openingDate
+                row.get(6), // closingDate
+                row.get(8), // companyName
+                row.get(9), // representativeId
+                Integer.parseInt(row.get(10)) // numSlots
+        );
+        internship.setSlotsLeft(Integer.parseInt(row.get(11)));
+        // Set persisted status & visibility
+        internship.setStatus(InternshipStatus.valueOf(row.get(7).toUpperCase()));
+        internship.setVisible(Boolean.parseBoolean(row.get(12)));
+        if (row.size() > 13 && !row.get(13).isEmpty()) internship.setVersion(Long.parseLong(row.get(13)));
+        return internship;
     }
 }
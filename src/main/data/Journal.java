@@ -0,0 +1,212 @@
+package main.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Journal - Append-only mutation log kept next to a CSV snapshot
+ *
+ * RESPONSIBILITIES:
+ *  - Append one record per mutation (operation tag followed by the full entity row)
+ *  - Read records back so a repository can replay them over its snapshot on startup
+ *  - Report when the log is long enough to be compacted into the snapshot
+ *
+ * Replaying a record is an upsert by entity ID, so records are applied in order.
+ *
+ * GENERATIONS: a repository that compacts its journal numbers each compaction.
+ * The snapshot's header ends with "#journal=N" (see snapshotHeader) and the journal
+ * starts with a "GEN,N" record. A journal whose generation is older than its
+ * snapshot's was already folded into it (e.g. a crash between rewriting the CSV and
+ * truncating the log), so it is dropped instead of replayed over newer data.
+ * Files from before generations count as generation 0.
+ */
+public class Journal {
+
+    public static final int DEFAULT_COMPACT_THRESHOLD = 500;
+
+    private static final String GEN = "GEN";
+    private static final String GEN_HEADER = "#journal=";
+
+    private final String filePath;
+    private final int compactThreshold;
+    private int size = -1; // unknown until replayed or counted
+    private long generation;
+    private boolean markerPending; // the GEN record still has to reach the file
+
+    public Journal(String filePath) {
+        this(filePath, DEFAULT_COMPACT_THRESHOLD);
+    }
+
+    public Journal(String filePath, int compactThreshold) {
+        this.filePath = filePath;
+        this.compactThreshold = compactThreshold;
+    }
+
+    /** Journal path for a CSV snapshot, e.g. data/internships.csv -> data/internships.journal */
+    public static String pathFor(String csvPath) {
+        String base = csvPath.endsWith(".csv") ? csvPath.substring(0, csvPath.length() - 4) : csvPath;
+        return base + ".journal";
+    }
+
+    // --- APPEND ---
+    public void append(String op, String[] row) {
+        appendAll(List.<String[]>of(record(op, row)));
+    }
+
+    /**
+     * Appends a batch of records (already tagged with record()) in one write.
+     *
+     * @return false if they could not be written; the caller keeps them to retry
+     */
+    public boolean appendAll(List<String[]> records) {
+        if (records.isEmpty()) return true;
+        boolean written;
+        if (markerPending || (generation > 0 && !new File(filePath).exists())) {
+            // Start the file with its generation; rewritten whole if the last reset failed
+            List<String[]> withMarker = new ArrayList<>(records.size() + 1);
+            withMarker.add(marker(generation));
+            withMarker.addAll(records);
+            written = markerPending
+                    ? FileHandler.writeCSV(filePath, withMarker, null)
+                    : FileHandler.appendAllToCSV(filePath, withMarker);
+            if (written) markerPending = false;
+        } else {
+            written = FileHandler.appendAllToCSV(filePath, records);
+        }
+        if (written && size >= 0) size += records.size();
+        return written;
+    }
+
+    /** Builds a journal record: operation tag followed by the entity row */
+    public static String[] record(String op, String[] row) {
+        String[] record = new String[row.length + 1];
+        record[0] = op;
+        System.arraycopy(row, 0, record, 1, row.length);
+        return record;
+    }
+
+    private static String[] marker(long generation) {
+        return new String[]{GEN, String.valueOf(generation)};
+    }
+
+    // --- REPLAY ---
+    /**
+     * Streams every record to the handler as (operation tag, entity row).
+     * The row is reused between records.
+     */
+    public void replay(BiConsumer<String, CsvRow> handler) {
+        size = 0;
+        if (!new File(filePath).exists()) return;
+        FileHandler.forEachRow(filePath, false, record -> {
+            size++;
+            handler.accept(record.get(0), record.tail(1));
+        });
+    }
+
+    /**
+     * Replays the journal over a snapshot of the given generation (see snapshotGeneration).
+     * A journal from an older generation is already in the snapshot: it is skipped and
+     * truncated, and appends continue in the snapshot's generation.
+     */
+    public void replay(long snapshotGeneration, BiConsumer<String, CsvRow> handler) {
+        if (!open(snapshotGeneration)) return;
+        size = 0;
+        FileHandler.forEachRow(filePath, false, record -> {
+            if (GEN.equals(record.get(0))) return;
+            size++;
+            handler.accept(record.get(0), record.tail(1));
+        });
+    }
+
+    /**
+     * Continues the journal of a snapshot of the given generation without replaying it
+     * (e.g. when the data came from a BinarySnapshot), dropping it if it is stale.
+     *
+     * @return whether the file holds records of this generation
+     */
+    public boolean open(long snapshotGeneration) {
+        generation = snapshotGeneration;
+        if (!new File(filePath).exists()) {
+            size = 0;
+            return false;
+        }
+        if (fileGeneration() >= snapshotGeneration) return true;
+        System.err.println("Ignoring " + filePath + ": its records are already in the snapshot.");
+        reset(snapshotGeneration);
+        return false;
+    }
+
+    private long fileGeneration() {
+        try (CsvReader reader = CsvReader.open(filePath)) {
+            if (!reader.next() || !GEN.equals(reader.row().get(0))) return 0;
+            return Long.parseLong(reader.row().get(1));
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    // --- COMPACTION ---
+    public boolean needsCompaction() {
+        return size() >= compactThreshold;
+    }
+
+    /** Generation of the records being appended now; the next compaction writes generation() + 1 */
+    public long generation() {
+        return generation;
+    }
+
+    /** Snapshot header line recording that the snapshot holds every record up to the generation */
+    public static String snapshotHeader(String header, long generation) {
+        return header + "," + GEN_HEADER + generation;
+    }
+
+    /** Generation recorded in a snapshot's header; 0 if it has none or does not exist */
+    public static long snapshotGeneration(String csvPath) {
+        if (!new File(csvPath).exists()) return 0;
+        try (CsvReader reader = CsvReader.open(csvPath)) {
+            if (!reader.next()) return 0;
+            String last = reader.row().get(reader.row().size() - 1);
+            return last.startsWith(GEN_HEADER) ? Long.parseLong(last.substring(GEN_HEADER.length())) : 0;
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    /** Truncates the log. Call only after the snapshot has been rewritten. */
+    public void clear() {
+        if (new File(filePath).exists()) {
+            FileHandler.writeCSV(filePath, List.of(), null);
+        }
+        size = 0;
+    }
+
+    /**
+     * Starts the given generation with an empty log. Call only after a snapshot with
+     * that generation has been written. If the file cannot be rewritten now, the next
+     * append rewrites it (a stale log is ignored on startup either way).
+     */
+    public void reset(long newGeneration) {
+        generation = newGeneration;
+        size = 0;
+        markerPending = !FileHandler.writeCSV(filePath, List.<String[]>of(marker(newGeneration)), null);
+    }
+
+    /** Number of records in the log; counted from the file if it was never replayed here */
+    public int size() {
+        if (size < 0) {
+            int[] count = {0};
+            if (new File(filePath).exists()) FileHandler.forEachRow(filePath, false, record -> {
+                if (!GEN.equals(record.get(0))) count[0]++;
+            });
+            size = count[0];
+        }
+        return size;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+}
@@ -0,0 +1,71 @@
+package main.data;
+
+import main.entity.Internship;
+import main.entity.enums.SortOrder;
+
+import java.text.Collator;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * SortKeys - An internship's precomputed sort keys, one per listing order
+ *
+ * Computed once when an internship version enters the catalog, so sorting and
+ * seeking compare ints and plain strings instead of lower-casing titles or
+ * comparing date strings on every comparison.
+ *
+ *  - title: the title's collation key (case-insensitive, English rules), as a
+ *    string whose natural order is the collation order
+ *  - openingDay / closingDay: the dates as epoch days; a date that does not parse
+ *    sorts after every real one
+ *  - id: the lower-case internship ID, the tie-break that gives every internship
+ *    one fixed place in each order
+ */
+public record SortKeys(String id, String title, int openingDay, int closingDay) {
+
+    private static final Collator COLLATOR = Collator.getInstance(Locale.ENGLISH);
+    static {
+        COLLATOR.setStrength(Collator.SECONDARY); // ignore case, keep accents
+    }
+
+    private static final Comparator<SortKeys> BY_TITLE =
+            Comparator.comparing(SortKeys::title).thenComparing(SortKeys::id);
+    private static final Comparator<SortKeys> BY_OPENING =
+            Comparator.comparingInt(SortKeys::openingDay).thenComparing(SortKeys::id);
+    private static final Comparator<SortKeys> BY_CLOSING =
+            Comparator.comparingInt(SortKeys::closingDay).thenComparing(SortKeys::id);
+
+    public static SortKeys of(Internship i) {
+        return new SortKeys(InternshipCatalog.idKey(i.getInternshipId()), titleKey(i.getTitle()),
+                epochDay(i.getOpeningDate()), epochDay(i.getClosingDate()));
+    }
+
+    public static Comparator<SortKeys> comparator(SortOrder order) {
+        return switch (order) {
+            case TITLE -> BY_TITLE;
+            case OPENING_DATE -> BY_OPENING;
+            case CLOSING_DATE -> BY_CLOSING;
+        };
+    }
+
+    // One char per key byte, so String.compareTo agrees with the collator
+    static String titleKey(String title) {
+        byte[] bytes;
+        synchronized (COLLATOR) {
+            bytes = COLLATOR.getCollationKey(title == null ? "" : title).toByteArray();
+        }
+        char[] chars = new char[bytes.length];
+        for (int k = 0; k < bytes.length; k++) chars[k] = (char) (bytes[k] & 0xFF);
+        return new String(chars);
+    }
+
+    public static int epochDay(String date) {
+        try {
+            return (int) LocalDate.parse(date.trim()).toEpochDay();
+        } catch (DateTimeParseException | NullPointerException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package main.data;
+
+import main.entity.Internship;
+import main.entity.enums.SortOrder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SortedView - The catalog's internships in one listing order, with their keys
+ *
+ * Immutable, like the catalog that holds it: a change produces a new view by
+ * copying the arrays with one entry removed or inserted at its binary-searched place.
+ * Lookups use binary search on the keys, so seeking to a cursor or to a date is
+ * O(log n) and the internships after it are already in order.
+ */
+final class SortedView {
+
+    private final Comparator<SortKeys> order;
+    private final SortKeys[] keys;
+    private final Internship[] items;
+
+    private SortedView(Comparator<SortKeys> order, SortKeys[] keys, Internship[] items) {
+        this.order = order;
+        this.keys = keys;
+        this.items = items;
+    }
+
+    static SortedView of(SortOrder sortOrder, List<Internship> internships, Map<Internship, SortKeys> keysOf) {
+        Comparator<SortKeys> order = SortKeys.comparator(sortOrder);
+        Internship[] items = internships.toArray(new Internship[0]);
+        Arrays.sort(items, (a, b) -> order.compare(keysOf.get(a), keysOf.get(b)));
+        SortKeys[] keys = new SortKeys[items.length];
+        for (int k = 0; k < items.length; k++) keys[k] = keysOf.get(items[k]);
+        return new SortedView(order, keys, items);
+    }
+
+    /** The next version with the entry for removedKeys (null: none) taken out and added (null: none) put in */
+    SortedView with(SortKeys removedKeys, Internship added, SortKeys addedKeys) {
+        int removeAt = removedKeys == null ? -1 : Arrays.binarySearch(keys, removedKeys, order);
+        if (removeAt >= 0 && added != null && order.compare(removedKeys, addedKeys) == 0) {
+            Internship[] nextItems = items.clone(); // same place: replace in position
+            SortKeys[] nextKeys = keys.clone();
+            nextItems[removeAt] = added;
+            nextKeys[removeAt] = addedKeys;
+            return new SortedView(order, nextKeys, nextItems);
+        }
+
+        SortedView next = removeAt >= 0 ? removed(removeAt) : this;
+        return added == null ? next : next.inserted(added, addedKeys);
+    }
+
+    private SortedView removed(int at) {
+        int n = items.length - 1;
+        Internship[] nextItems = new Internship[n];
+        SortKeys[] nextKeys = new SortKeys[n];
+        System.arraycopy(items, 0, nextItems, 0, at);
+        System.arraycopy(items, at + 1, nextItems, at, n - at);
+        System.arraycopy(keys, 0, nextKeys, 0, at);
+        System.arraycopy(keys, at + 1, nextKeys, at, n - at);
+        return new SortedView(order, nextKeys, nextItems);
+    }
+
+    private SortedView inserted(Internship added, SortKeys addedKeys) {
+        int at = -(Arrays.binarySearch(keys, addedKeys, order) + 1); // IDs are unique: never found
+        int n = items.length;
+        Internship[] nextItems = new Internship[n + 1];
+        SortKeys[] nextKeys = new SortKeys[n + 1];
+        System.arraycopy(items, 0, nextItems, 0, at);
+        System.arraycopy(items, at, nextItems, at + 1, n - at);
+        System.arraycopy(keys, 0, nextKeys, 0, at);
+        System.arraycopy(keys, at, nextKeys, at + 1, n - at);
+        nextItems[at] = added;
+        nextKeys[at] = addedKeys;
+        return new SortedView(order, nextKeys, nextItems);
+    }
+
+    // ---------- QUERIES ----------
+    List<Internship> all() {
+        return Collections.unmodifiableList(Arrays.asList(items));
+    }
+
+    /** Everything strictly after the given position (which need not be in the view) */
+    List<Internship> after(SortKeys position) {
+        int at = Arrays.binarySearch(keys, position, order);
+        int from = at >= 0 ? at + 1 : -(at + 1);
+        return all().subList(from, items.length);
+    }
+
+    /** Everything ordered at or after the probe and before the limit */
+    List<Internship> between(SortKeys fromProbe, SortKeys toProbe) {
+        int from = insertionPoint(fromProbe);
+        int to = Math.max(from, insertionPoint(toProbe));
+        return all().subList(from, to);
+    }
+
+    // First position whose key is not below the probe
+    private int insertionPoint(SortKeys probe) {
+        int at = Arrays.binarySearch(keys, probe, order);
+        return at >= 0 ? at : -(at + 1);
+    }
+}
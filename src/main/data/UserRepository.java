@@ -1,4 +1,302 @@
 package main.data;
 
-public class UserRepository {
+import main.entity.CareerCenterStaff;
+import main.entity.CompanyRepresentative;
+import main.entity.Student;
+import main.entity.User;
+import main.entity.enums.AccountStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * UserRepository
+ *
+ * In-memory store of all users (students, company representatives, staff).
+ *
+ * INDEXES:
+ *  - Primary index by user ID (case-insensitive), which also keeps load order
+ *  - Index by email (case-insensitive)
+ *  - Per-role views: students, company representatives, staff
+ *  - Company representatives by AccountStatus
+ *  Account status changes must go through updateAccountStatus() so the
+ *  status index stays correct; email changes through updateEmail().
+ *  All methods are synchronized; lists are copies taken under the lock.
+ *
+ * When two records share an ID or email, the first one added wins the lookup,
+ * as it did with the old linear scans.
+ *
+ * PERSISTENCE (when created with the three role files):
+ *  - Changed users are marked dirty; flush() appends one full-row record per user
+ *    to the journal of that user's role file (e.g. sample_student_list.journal),
+ *    so a password change writes one line instead of the whole file.
+ *  - DataLoader replays these journals when it loads the role files.
+ *  - A role file is rewritten (and its journal cleared) once its journal reaches
+ *    the compaction threshold, and on saveAll(). The journal is cleared only once
+ *    the rewrite succeeded; a failed write leaves the changes to be retried.
+ *  The no-argument constructor gives a purely in-memory store.
+ *
+ * OOP & SOLID:
+ *  - SINGLE RESPONSIBILITY: Only manages user data access; file I/O stays in DataLoader.
+ */
+public class UserRepository implements FlushableRepository {
+
+    private final Map<String, User> byId = new LinkedHashMap<>();
+    private final Map<String, User> byEmail = new HashMap<>();
+
+    private final Map<String, Student> students = new LinkedHashMap<>();
+    private final Map<String, CompanyRepresentative> reps = new LinkedHashMap<>();
+    private final Map<String, CareerCenterStaff> staff = new LinkedHashMap<>();
+    private final Map<AccountStatus, Set<CompanyRepresentative>> repsByStatus = new EnumMap<>(AccountStatus.class);
+
+    // --- PERSISTENCE (all null for an in-memory store) ---
+    private record RoleFile(String csvPath, Journal journal) {}
+
+    private final RoleFile studentFile;
+    private final RoleFile repFile;
+    private final RoleFile staffFile;
+
+    // Users changed since the last flush -> journal operation tag
+    private final Map<User, String> dirty = new LinkedHashMap<>();
+    private WriteBehindFlusher flusher;
+
+    // Journal operation tags
+    private static final String OP_ADD = "ADD";
+    private static final String OP_UPDATE = "UPDATE";
+    private static final String OP_STATUS = "STATUS";
+
+    /** In-memory store; changes are not written anywhere */
+    public UserRepository() {
+        this.studentFile = null;
+        this.repFile = null;
+        this.staffFile = null;
+    }
+
+    /** Store that journals changes next to the given role files */
+    public UserRepository(String studentCsv, String repCsv, String staffCsv) {
+        this.studentFile = roleFile(studentCsv);
+        this.repFile = roleFile(repCsv);
+        this.staffFile = roleFile(staffCsv);
+    }
+
+    // Appends continue in the generation of the role file on disk (see Journal)
+    private static RoleFile roleFile(String csvPath) {
+        Journal journal = new Journal(Journal.pathFor(csvPath));
+        journal.open(Journal.snapshotGeneration(csvPath));
+        return new RoleFile(csvPath, journal);
+    }
+
+    public boolean isJournaled() {
+        return studentFile != null;
+    }
+
+    // --- ADD ---
+    /**
+     * Adds a user to the store.
+     *
+     * @return false if a user with the same ID is already stored (the new one is ignored)
+     */
+    public synchronized boolean add(User user) {
+        String id = key(user.getUserId());
+        if (byId.putIfAbsent(id, user) != null) return false;
+        if (user.getEmail() != null) byEmail.putIfAbsent(key(user.getEmail()), user);
+
+        if (user instanceof Student s) {
+            students.put(id, s);
+        } else if (user instanceof CompanyRepresentative rep) {
+            reps.put(id, rep);
+            repsByStatus.computeIfAbsent(rep.getAccountStatus(), k -> new LinkedHashSet<>()).add(rep);
+        } else if (user instanceof CareerCenterStaff st) {
+            staff.put(id, st);
+        }
+        return true;
+    }
+
+    public synchronized void addAll(Collection<? extends User> users) {
+        for (User u : users) add(u);
+    }
+
+    /** Adds a newly created user and persists it (add() is for users loaded from disk) */
+    public synchronized boolean register(User user) {
+        if (!add(user)) return false;
+        persist(OP_ADD, user);
+        return true;
+    }
+
+    /** Persists a change to a non-indexed field, e.g. a new password */
+    public void update(User user) {
+        persist(OP_UPDATE, user);
+    }
+
+    // --- REMOVE ---
+    public synchronized User remove(String userId) {
+        String id = key(userId);
+        User user = byId.remove(id);
+        if (user == null) return null;
+
+        if (user.getEmail() != null) byEmail.remove(key(user.getEmail()), user);
+        students.remove(id);
+        staff.remove(id);
+        CompanyRepresentative rep = reps.remove(id);
+        if (rep != null) removeFromStatus(rep, rep.getAccountStatus());
+        return user;
+    }
+
+    // --- LOOKUPS ---
+    public synchronized User findById(String userId) {
+        if (userId == null) return null;
+        return byId.get(key(userId));
+    }
+
+    public synchronized User findByEmail(String email) {
+        if (email == null) return null;
+        return byEmail.get(key(email));
+    }
+
+    /** Looks a login name up as an ID first, then as an email */
+    public synchronized User findByIdOrEmail(String idOrEmail) {
+        User user = findById(idOrEmail);
+        return user != null ? user : findByEmail(idOrEmail);
+    }
+
+    public synchronized boolean existsById(String userId) {
+        return findById(userId) != null;
+    }
+
+    public synchronized boolean existsByEmail(String email) {
+        return findByEmail(email) != null;
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    // --- LISTS (copies, in insertion order) ---
+    public synchronized List<User> getAll() {
+        return List.copyOf(byId.values());
+    }
+
+    public synchronized List<Student> getStudents() {
+        return List.copyOf(students.values());
+    }
+
+    public synchronized List<CompanyRepresentative> getCompanyReps() {
+        return List.copyOf(reps.values());
+    }
+
+    public synchronized List<CareerCenterStaff> getStaff() {
+        return List.copyOf(staff.values());
+    }
+
+    // Returns a copy: callers typically change the status of what they iterate over
+    public synchronized List<CompanyRepresentative> findCompanyRepsByStatus(AccountStatus status) {
+        Set<CompanyRepresentative> set = repsByStatus.get(status);
+        return set == null ? new ArrayList<>() : new ArrayList<>(set);
+    }
+
+    // --- UPDATES THAT TOUCH INDEXED FIELDS ---
+    public synchronized void updateAccountStatus(CompanyRepresentative rep, AccountStatus newStatus) {
+        AccountStatus old = rep.getAccountStatus();
+        if (old == newStatus) return;
+        rep.setAccountStatus(newStatus);
+        if (reps.get(key(rep.getUserId())) != rep) return; // not stored here
+        removeFromStatus(rep, old);
+        repsByStatus.computeIfAbsent(newStatus, k -> new LinkedHashSet<>()).add(rep);
+        persist(OP_STATUS, rep);
+    }
+
+    public synchronized void updateEmail(User user, String newEmail) {
+        if (user.getEmail() != null) byEmail.remove(key(user.getEmail()), user);
+        user.setEmail(newEmail);
+        if (newEmail != null) byEmail.putIfAbsent(key(newEmail), user);
+    }
+
+    // --- DIRTY TRACKING ---
+    private void persist(String op, User user) {
+        if (!isJournaled()) return;
+        synchronized (this) {
+            dirty.merge(user, op, (old, cur) -> OP_ADD.equals(old) ? old : cur);
+        }
+        if (flusher != null && flusher.isRunning()) flusher.onChange();
+        else flush();
+    }
+
+    @Override
+    public synchronized int dirtyCount() {
+        return dirty.size();
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (dirty.isEmpty()) return;
+
+        Map<RoleFile, List<String[]>> records = new LinkedHashMap<>();
+        Map<RoleFile, List<User>> users = new LinkedHashMap<>();
+        for (Map.Entry<User, String> e : dirty.entrySet()) {
+            RoleFile file = fileFor(e.getKey());
+            records.computeIfAbsent(file, k -> new ArrayList<>())
+                    .add(Journal.record(e.getValue(), DataLoader.toRow(e.getKey())));
+            users.computeIfAbsent(file, k -> new ArrayList<>()).add(e.getKey());
+        }
+
+        for (Map.Entry<RoleFile, List<String[]>> e : records.entrySet()) {
+            RoleFile file = e.getKey();
+            if (!file.journal().appendAll(e.getValue())) continue; // still dirty: retried on the next flush
+            users.get(file).forEach(dirty::remove);
+            if (file.journal().needsCompaction()) save(file);
+        }
+    }
+
+    @Override
+    public void attach(WriteBehindFlusher flusher) {
+        this.flusher = flusher;
+    }
+
+    // --- SAVE ROLE FILES (also compacts the journals) ---
+    public synchronized void saveAll() {
+        if (!isJournaled()) return;
+        Set<RoleFile> saved = new HashSet<>();
+        for (RoleFile file : List.of(studentFile, repFile, staffFile)) {
+            if (save(file)) saved.add(file);
+        }
+        // Users whose role file could not be rewritten stay dirty for the next flush
+        dirty.keySet().removeIf(u -> saved.contains(fileFor(u)));
+    }
+
+    // Clears the journal only once the role file holds everything in it
+    private boolean save(RoleFile file) {
+        long generation = file.journal().generation() + 1;
+        boolean written;
+        if (file == studentFile) written = DataLoader.writeStudents(file.csvPath(), students.values(), generation);
+        else if (file == repFile) written = DataLoader.writeCompanyReps(file.csvPath(), reps.values(), generation);
+        else written = DataLoader.writeStaff(file.csvPath(), staff.values(), generation);
+        if (written) file.journal().reset(generation);
+        return written;
+    }
+
+    private RoleFile fileFor(User user) {
+        if (user instanceof Student) return studentFile;
+        if (user instanceof CompanyRepresentative) return repFile;
+        return staffFile;
+    }
+
+    // --- INDEX MAINTENANCE ---
+    private void removeFromStatus(CompanyRepresentative rep, AccountStatus status) {
+        Set<CompanyRepresentative> set = repsByStatus.get(status);
+        if (set == null) return;
+        set.remove(rep);
+        if (set.isEmpty()) repsByStatus.remove(status);
+    }
+
+    private static String key(String s) {
+        return s == null ? "" : s.trim().toLowerCase();
+    }
 }
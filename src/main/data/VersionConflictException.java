@@ -0,0 +1,29 @@
+package main.data;
+
+/**
+ * VersionConflictException - A compare-and-set update found a newer version than the caller read
+ *
+ * Thrown by the repositories' optimistic update methods instead of overwriting
+ * someone else's change. The write did not happen; the caller may re-read the
+ * entity, re-check its rules and try again.
+ */
+public class VersionConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String entityId;
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    public VersionConflictException(String entity, String entityId, long expectedVersion, long actualVersion) {
+        super(String.format("%s %s was changed by someone else (version %d, expected %d).",
+                entity, entityId, actualVersion, expectedVersion));
+        this.entityId = entityId;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public String getEntityId() { return entityId; }
+    public long getExpectedVersion() { return expectedVersion; }
+    public long getActualVersion() { return actualVersion; }
+}
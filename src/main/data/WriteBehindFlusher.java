@@ -0,0 +1,100 @@
+package main.data;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WriteBehindFlusher - Group-commits repository changes on a background thread
+ *
+ * RESPONSIBILITIES:
+ *  - Flush every registered repository on a fixed interval
+ *  - Flush early once a configurable number of changes has accumulated
+ *  - Offer a synchronous flush() barrier for callers that need their change on disk
+ *  - Drain all pending changes on shutdown()
+ *
+ * Defaults can be overridden with the system properties
+ * ips.flush.intervalMs and ips.flush.maxChanges.
+ */
+public final class WriteBehindFlusher {
+
+    public static final long DEFAULT_INTERVAL_MS = 1000;
+    public static final int DEFAULT_MAX_CHANGES = 50;
+
+    private final List<FlushableRepository> repositories = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    private final int maxChanges;
+    private final AtomicInteger pendingChanges = new AtomicInteger();
+    private final AtomicBoolean earlyFlushQueued = new AtomicBoolean();
+    private volatile boolean running = true;
+
+    public WriteBehindFlusher() {
+        this(Long.getLong("ips.flush.intervalMs", DEFAULT_INTERVAL_MS),
+                Integer.getInteger("ips.flush.maxChanges", DEFAULT_MAX_CHANGES));
+    }
+
+    public WriteBehindFlusher(long intervalMs, int maxChanges) {
+        this.maxChanges = maxChanges;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "repository-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // --- REGISTRATION ---
+    public void register(FlushableRepository repository) {
+        repositories.add(repository);
+        repository.attach(this);
+    }
+
+    /** Called by repositories whenever an entity is marked dirty */
+    public void onChange() {
+        if (pendingChanges.incrementAndGet() >= maxChanges
+                && running && earlyFlushQueued.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                earlyFlushQueued.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    // --- BARRIER ---
+    /** Flushes all repositories on the calling thread; returns once the changes are written. */
+    public void flush() {
+        pendingChanges.set(0);
+        for (FlushableRepository repository : repositories) {
+            repository.flush();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            System.err.println("Background flush failed: " + e.getMessage());
+        }
+    }
+
+    // --- SHUTDOWN ---
+    /** Stops the background thread and drains every pending change. */
+    public void shutdown() {
+        running = false;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -10,7 +10,10 @@ public class Application {
     private int studentYear;
     private String internshipId;
     private String appliedDate;
-    private ApplicationStatus status;
+    private volatile ApplicationStatus status;
+    // +1 for every status change; read it before checking the status, then compare-and-set
+    // through ApplicationRepository.compareAndSetStatus (written after the status)
+    private volatile long version = 1;
 
     public Application(String applicationId, String studentId, String studentName, String studentMajor, int studentYear,
                        String internshipId, String appliedDate, ApplicationStatus status) {
@@ -33,9 +36,11 @@ public class Application {
     public String getInternshipId() { return internshipId; }
     public String getAppliedDate() { return appliedDate; }
     public ApplicationStatus getStatus() { return status; }
+    public long getVersion() { return version; }
 
-    // Setter
+    // Setters (status changes go through ApplicationRepository so the version moves with them)
     public void setStatus(ApplicationStatus status) { this.status = status; }
+    public void setVersion(long version) { this.version = version; }
 
     @Override
     public String toString() {
@@ -9,6 +9,8 @@ public class FilterSettings {
     private InternshipLevel level;
     private String sortBy; // "title", "closingDate", "openingDate"
     private Boolean visible; // null = all, true = visible only, false = hidden only
+    private String keywords; // null = no search; otherwise results are ranked by relevance
+    private Integer closingWithinDays; // null = any; otherwise closing between today and N days ahead
 
     public FilterSettings() {
         this.sortBy = "title"; // default alphabetical
@@ -30,6 +32,14 @@ public class FilterSettings {
     public Boolean getVisible() { return visible; }
     public void setVisible(Boolean visible) { this.visible = visible; }
 
+    public String getKeywords() { return keywords; }
+    public void setKeywords(String keywords) {
+        this.keywords = (keywords == null || keywords.isBlank()) ? null : keywords.trim();
+    }
+
+    public Integer getClosingWithinDays() { return closingWithinDays; }
+    public void setClosingWithinDays(Integer closingWithinDays) { this.closingWithinDays = closingWithinDays; }
+
     // --- Utility Methods ---
 
     /** Whether any filter other than default sorting is active */
@@ -38,6 +48,8 @@ public class FilterSettings {
                 || preferredMajor != null
                 || level != null
                 || visible != null
+                || keywords != null
+                || closingWithinDays != null
                 || !"title".equals(sortBy);
     }
 
@@ -47,6 +59,8 @@ public class FilterSettings {
         preferredMajor = null;
         level = null;
         visible = null;
+        keywords = null;
+        closingWithinDays = null;
         sortBy = "title";
     }
 
@@ -57,12 +71,14 @@ public class FilterSettings {
                 : (visible ? "VISIBLE ONLY" : "HIDDEN ONLY");
 
         return String.format(
-                "Status: %s | Major: %s | Level: %s | Visible: %s | Sort: %s",
+                "Status: %s | Major: %s | Level: %s | Visible: %s | Closing: %s | Search: %s | Sort: %s",
                 status == null ? "ANY" : status,
                 preferredMajor == null ? "ANY" : preferredMajor,
                 level == null ? "ANY" : level,
                 visibilityStr,
-                formatSort(sortBy)
+                closingWithinDays == null ? "ANY" : "within " + closingWithinDays + " days",
+                keywords == null ? "NONE" : "\"" + keywords + "\"",
+                keywords == null ? formatSort(sortBy) : "Relevance"
         );
     }
 
@@ -17,9 +17,10 @@ public class Internship {
     private String companyName;
     private String representativeId;
     private int numSlots;     // total slots
-    private int slotsLeft;     // available slots
+    private final SlotLedger slots; // reserved / confirmed slots; available = numSlots - both
     private boolean visible;
     private String createdDate;
+    private long version = 1; // +1 for every published change; see InternshipRepository
 
 
     public Internship(String internshipId, String title, String description,
@@ -37,7 +38,7 @@ public class Internship {
         this.companyName = companyName;
         this.representativeId = representativeId;
         this.numSlots = numSlots;
-        this.slotsLeft = numSlots;   // initialize equal to total
+        this.slots = new SlotLedger(numSlots); // all slots free initially
 
 
         this.status = InternshipStatus.PENDING; // default
@@ -46,6 +47,33 @@ public class Internship {
 
     }
 
+    // Copy constructor: same field values, same live slot ledger
+    private Internship(Internship other) {
+        this.internshipId = other.internshipId;
+        this.title = other.title;
+        this.description = other.description;
+        this.level = other.level;
+        this.preferredMajor = other.preferredMajor;
+        this.openingDate = other.openingDate;
+        this.closingDate = other.closingDate;
+        this.status = other.status;
+        this.companyName = other.companyName;
+        this.representativeId = other.representativeId;
+        this.numSlots = other.numSlots;
+        this.slots = other.slots;
+        this.visible = other.visible;
+        this.createdDate = other.createdDate;
+        this.version = other.version;
+    }
+
+    /**
+     * A copy to edit before publishing it in place of this one (see InternshipCatalog).
+     * The copy shares this internship's SlotLedger, so slot counts stay live across versions.
+     */
+    public Internship copy() {
+        return new Internship(this);
+    }
+
     //Getters & Setters
     public String getInternshipId() { return internshipId; }
     public String getTitle() { return title; }
@@ -58,9 +86,11 @@ public class Internship {
     public String getCompanyName() { return companyName; }
     public String getRepresentativeId() { return representativeId; }
     public int getNumSlots() { return numSlots; }
-    public int getSlotsLeft() { return slotsLeft; }
+    public int getSlotsLeft() { return slots.available(); }
+    public SlotLedger getSlotLedger() { return slots; }
     public String getCreatedDate(){return createdDate;}
     public boolean isVisible() { return visible; }
+    public long getVersion() { return version; }
 
     //  CONTROLLED
     public void setInternshipId(String internshipId) { this.internshipId = internshipId; }
@@ -70,22 +100,23 @@ public class Internship {
     public void setPreferredMajor(String preferredMajor) { this.preferredMajor = preferredMajor; }
     public void setOpeningDate(String openingDate) { this.openingDate = openingDate; }
     public void setClosingDate(String closingDate) { this.closingDate = closingDate; }
-    public void setNumSlots(int newTotal) {
-        this.numSlots = newTotal;
-        if (slotsLeft > newTotal) slotsLeft = newTotal; // clamp
-    }
-    public void setSlotsLeft(int slotsLeft) { this.slotsLeft = slotsLeft; }
+    // The shared ledger's capacity follows when the repository publishes this version
+    public void setNumSlots(int newTotal) { this.numSlots = newTotal; }
+    public void setSlotsLeft(int slotsLeft) { slots.restoreAvailable(slotsLeft); } // loading only
 
 
     public void setStatus(InternshipStatus status) { this.status = status; }
     public void setVisible(boolean visible) { this.visible = visible; }
+    public void setVersion(long version) { this.version = version; } // repository and loading only
 
-    public void decrementSlot() {
-        if (slotsLeft > 0) slotsLeft--;
-    }
+    // Slot transitions are atomic; see SlotLedger
+    public boolean reserveSlot() { return slots.reserve(); }
+    public boolean confirmSlot() { return slots.confirm(); }
+    public boolean releaseSlot() { return slots.release(); }
 
+    // Advisory only: another thread may take the last slot right after this returns true
     public boolean hasAvailableSlots() {
-        return slotsLeft > 0;
+        return slots.available() > 0;
     }
 
     @Override
@@ -96,6 +127,6 @@ public class Internship {
 
     public String toStudentView() {
         return String.format("[%s] %s\nDescription: %s\nPreferred Major: %s\nOpening: %s  |  Closing: %s  | Total Slots: %d | Slots Left: %d\n",
-                internshipId, title, description, preferredMajor, openingDate, closingDate, numSlots, slotsLeft);
+                internshipId, title, description, preferredMajor, openingDate, closingDate, numSlots, getSlotsLeft());
     }
 }
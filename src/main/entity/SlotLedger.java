@@ -0,0 +1,98 @@
+package main.entity;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SlotLedger - Thread-safe slot accounting for one internship
+ *
+ * A slot is either free, reserved (an application was approved and the offer
+ * is outstanding) or confirmed (the student accepted the offer).
+ *
+ *   reserve()  free     -> reserved   (rep approves an application)
+ *   confirm()  reserved -> confirmed  (student accepts the offer)
+ *   release()  reserved -> free       (offer withdrawn or declined)
+ *
+ * Both counters live in one AtomicLong (reserved in the high 32 bits, confirmed
+ * in the low 32 bits) and every transition is a single compare-and-set, so
+ * reserved + confirmed can never exceed the capacity, however many threads race.
+ */
+public class SlotLedger {
+
+    private volatile int capacity;
+    private final AtomicLong state = new AtomicLong();
+
+    public SlotLedger(int capacity) {
+        this.capacity = Math.max(0, capacity);
+    }
+
+    // --- TRANSITIONS ---
+    /** Takes a free slot. @return false if none is free */
+    public boolean reserve() {
+        while (true) {
+            long s = state.get();
+            if (reserved(s) + confirmed(s) >= capacity) return false;
+            if (state.compareAndSet(s, pack(reserved(s) + 1, confirmed(s)))) return true;
+        }
+    }
+
+    /** Turns a reservation into a placement. @return false if nothing is reserved */
+    public boolean confirm() {
+        while (true) {
+            long s = state.get();
+            if (reserved(s) == 0) return false;
+            if (state.compareAndSet(s, pack(reserved(s) - 1, confirmed(s) + 1))) return true;
+        }
+    }
+
+    /** Gives a reserved slot back. @return false if nothing is reserved */
+    public boolean release() {
+        while (true) {
+            long s = state.get();
+            if (reserved(s) == 0) return false;
+            if (state.compareAndSet(s, pack(reserved(s) - 1, confirmed(s)))) return true;
+        }
+    }
+
+    // --- QUERIES ---
+    public int getCapacity() { return capacity; }
+    public int getReserved() { return reserved(state.get()); }
+    public int getConfirmed() { return confirmed(state.get()); }
+
+    /** Free slots; never negative, even if the capacity was lowered below what is taken */
+    public int available() {
+        long s = state.get();
+        return Math.max(0, capacity - reserved(s) - confirmed(s));
+    }
+
+    // --- ADMIN (editing and loading) ---
+    /** Changes the capacity. Slots already taken are kept, even above the new capacity. */
+    public void setCapacity(int capacity) {
+        this.capacity = Math.max(0, capacity);
+    }
+
+    /** Sets both counters, e.g. when rebuilding the ledger from application statuses */
+    public void reset(int reserved, int confirmed) {
+        state.set(pack(Math.max(0, reserved), Math.max(0, confirmed)));
+    }
+
+    /**
+     * Restores a ledger from a stored "slots left" figure. The stored format does not
+     * say which slots are reserved and which confirmed, so taken slots count as confirmed
+     * until reset() is called with the real figures.
+     */
+    public void restoreAvailable(int available) {
+        reset(0, capacity - Math.max(0, Math.min(available, capacity)));
+    }
+
+    private static long pack(int reserved, int confirmed) {
+        return ((long) reserved << 32) | (confirmed & 0xFFFFFFFFL);
+    }
+
+    private static int reserved(long s) { return (int) (s >>> 32); }
+    private static int confirmed(long s) { return (int) s; }
+
+    @Override
+    public String toString() {
+        return String.format("%d reserved, %d confirmed of %d", getReserved(), getConfirmed(), capacity);
+    }
+}
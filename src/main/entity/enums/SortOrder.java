@@ -0,0 +1,26 @@
+package main.entity.enums;
+
+/** Orders an internship listing can be sorted in; sortBy is the name FilterSettings uses */
+public enum SortOrder {
+    TITLE("title"),
+    OPENING_DATE("openingDate"),
+    CLOSING_DATE("closingDate");
+
+    private final String sortBy;
+
+    SortOrder(String sortBy) {
+        this.sortBy = sortBy;
+    }
+
+    public String sortBy() {
+        return sortBy;
+    }
+
+    /** The order for a FilterSettings sortBy value; anything unknown is alphabetical */
+    public static SortOrder of(String sortBy) {
+        for (SortOrder o : values()) {
+            if (o.sortBy.equals(sortBy)) return o;
+        }
+        return TITLE;
+    }
+}
@@ -0,0 +1,160 @@
+package main.util;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * EventBus - Typed in-process publish/subscribe for events of base type E
+ *
+ * RESPONSIBILITIES:
+ *  - Deliver each published event to every subscriber registered for its type
+ *    (or a supertype of it), in the order the subscribers registered
+ *  - Run synchronous subscribers on the publishing thread
+ *  - Run asynchronous subscribers on a small bounded pool, so they add nothing
+ *    to the publisher's request path while the pool keeps up
+ *
+ * BACKPRESSURE: the asynchronous queue is bounded. When it is full, publish()
+ * waits for room instead of dropping the event or growing without limit, so a
+ * slow subscriber slows publishers down rather than exhausting memory.
+ *
+ * With the default single worker, asynchronous subscribers see events in publish
+ * order. A subscriber that throws is reported on stderr; the others still run.
+ *
+ * A bus with zero threads (see synchronous()) starts no pool at all and runs
+ * asynchronous subscribers on the publishing thread too; it needs no shutdown.
+ *
+ * Defaults can be overridden with the system properties
+ * ips.events.threads and ips.events.queue.
+ */
+public class EventBus<E> {
+
+    public static final int DEFAULT_THREADS = 1;
+    public static final int DEFAULT_QUEUE = 1024;
+
+    private record Subscriber<E>(Class<? extends E> type, Consumer<? super E> handler, boolean async) {}
+
+    private final List<Subscriber<E>> subscribers = new CopyOnWriteArrayList<>();
+    private final int threads;
+    private final int queueCapacity;
+    private final AtomicLong failures = new AtomicLong();
+    private volatile ThreadPoolExecutor executor; // created with the first async subscriber
+    private volatile boolean running = true;
+
+    public EventBus() {
+        this(Integer.getInteger("ips.events.threads", DEFAULT_THREADS),
+                Integer.getInteger("ips.events.queue", DEFAULT_QUEUE));
+    }
+
+    /** @param threads worker threads for asynchronous subscribers; 0 runs them on the publisher */
+    public EventBus(int threads, int queueCapacity) {
+        this.threads = Math.max(0, threads);
+        this.queueCapacity = Math.max(1, queueCapacity);
+    }
+
+    /** A bus that owns no threads: every subscriber runs on the publishing thread */
+    public static <E> EventBus<E> synchronous() {
+        return new EventBus<>(0, 1);
+    }
+
+    // --- SUBSCRIPTION ---
+    /** Runs the handler on the publishing thread, before publish() returns */
+    public <T extends E> void subscribe(Class<T> type, Consumer<? super T> handler) {
+        add(type, handler, false);
+    }
+
+    /** Runs the handler on the bus's worker pool, after publish() has queued the event */
+    public <T extends E> void subscribeAsync(Class<T> type, Consumer<? super T> handler) {
+        if (threads == 0) {
+            add(type, handler, false); // no pool: deliver on the publisher
+            return;
+        }
+        startExecutor();
+        add(type, handler, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends E> void add(Class<T> type, Consumer<? super T> handler, boolean async) {
+        // Only called with events of the given type (see publish), so the cast is safe
+        subscribers.add(new Subscriber<>(type, (Consumer<? super E>) handler, async));
+    }
+
+    private synchronized void startExecutor() {
+        if (executor != null) return;
+        RejectedExecutionHandler waitForRoom = (task, pool) -> {
+            if (pool.isShutdown()) {
+                task.run(); // published while shutting down: deliver on the caller
+                return;
+            }
+            try {
+                pool.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "event-bus");
+                    t.setDaemon(true);
+                    return t;
+                }, waitForRoom);
+    }
+
+    // --- PUBLISHING ---
+    public void publish(E event) {
+        if (event == null) return;
+        for (Subscriber<E> s : subscribers) {
+            if (!s.type().isInstance(event)) continue;
+            if (s.async() && running) {
+                executor.execute(() -> deliver(s, event));
+            } else {
+                deliver(s, event); // synchronous, or the pool has shut down
+            }
+        }
+    }
+
+    private void deliver(Subscriber<E> s, E event) {
+        try {
+            s.handler().accept(event);
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            System.err.println("Event subscriber failed on " + event.getClass().getSimpleName()
+                    + ": " + e.getMessage());
+        }
+    }
+
+    // --- STATUS ---
+    /** Events waiting for an asynchronous subscriber */
+    public int backlog() {
+        ThreadPoolExecutor pool = executor;
+        BlockingQueue<Runnable> queue = pool == null ? null : pool.getQueue();
+        return queue == null ? 0 : queue.size();
+    }
+
+    /** Number of subscriber calls that threw */
+    public long failures() {
+        return failures.get();
+    }
+
+    // --- SHUTDOWN ---
+    /** Delivers every queued event, then stops the worker pool; later events are delivered synchronously. */
+    public void shutdown() {
+        running = false;
+        ThreadPoolExecutor pool = executor;
+        if (pool == null) return;
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+                System.err.println("Event bus did not drain within 10 seconds.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
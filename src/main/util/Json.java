@@ -0,0 +1,184 @@
+package main.util;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Json - Minimal JSON support for the HTTP API
+ *
+ * RESPONSIBILITIES:
+ *  - Write Strings, numbers, booleans, null, Maps (objects) and Collections (arrays)
+ *  - Parse a flat request object whose values are strings, numbers, booleans or null
+ *
+ * Nested objects and arrays in requests are not needed by any endpoint and are rejected.
+ */
+public final class Json {
+
+    private Json() {}
+
+    // ---------- WRITE ----------
+    public static String write(Object value) {
+        StringBuilder sb = new StringBuilder();
+        write(sb, value);
+        return sb.toString();
+    }
+
+    private static void write(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof String s) {
+            quote(sb, s);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            sb.append(value);
+        } else if (value instanceof Map<?, ?> map) {
+            sb.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                if (!first) sb.append(',');
+                first = false;
+                quote(sb, String.valueOf(e.getKey()));
+                sb.append(':');
+                write(sb, e.getValue());
+            }
+            sb.append('}');
+        } else if (value instanceof Collection<?> list) {
+            sb.append('[');
+            boolean first = true;
+            for (Object item : list) {
+                if (!first) sb.append(',');
+                first = false;
+                write(sb, item);
+            }
+            sb.append(']');
+        } else {
+            quote(sb, value.toString()); // enums and anything else
+        }
+    }
+
+    private static void quote(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    // ---------- PARSE ----------
+    /**
+     * Parses a flat JSON object. Every value is returned as a String
+     * (numbers and booleans in their JSON spelling); JSON null becomes Java null.
+     *
+     * @throws IllegalArgumentException if the text is not such an object
+     */
+    public static Map<String, String> parseObject(String text) {
+        Parser p = new Parser(text == null ? "" : text);
+        Map<String, String> result = new LinkedHashMap<>();
+
+        p.skipWhitespace();
+        if (p.atEnd()) return result; // empty body
+        p.expect('{');
+        p.skipWhitespace();
+        if (p.peek() == '}') {
+            p.pos++;
+        } else {
+            while (true) {
+                p.skipWhitespace();
+                String key = p.readString();
+                p.skipWhitespace();
+                p.expect(':');
+                p.skipWhitespace();
+                result.put(key, p.readScalar());
+                p.skipWhitespace();
+                if (p.peek() == ',') {
+                    p.pos++;
+                    continue;
+                }
+                p.expect('}');
+                break;
+            }
+        }
+        p.skipWhitespace();
+        if (!p.atEnd()) throw new IllegalArgumentException("Unexpected content after JSON object");
+        return result;
+    }
+
+    private static class Parser {
+        final String s;
+        int pos;
+
+        Parser(String s) {
+            this.s = s;
+        }
+
+        boolean atEnd() {
+            return pos >= s.length();
+        }
+
+        char peek() {
+            if (atEnd()) throw new IllegalArgumentException("Unexpected end of JSON");
+            return s.charAt(pos);
+        }
+
+        void expect(char c) {
+            if (peek() != c) throw new IllegalArgumentException("Expected '" + c + "' at position " + pos);
+            pos++;
+        }
+
+        void skipWhitespace() {
+            while (!atEnd() && Character.isWhitespace(s.charAt(pos))) pos++;
+        }
+
+        String readScalar() {
+            char c = peek();
+            if (c == '"') return readString();
+            if (c == '{' || c == '[') throw new IllegalArgumentException("Nested JSON values are not supported");
+            int start = pos;
+            while (!atEnd() && ",} \t\r\n".indexOf(s.charAt(pos)) < 0) pos++;
+            String literal = s.substring(start, pos);
+            if (literal.isEmpty()) throw new IllegalArgumentException("Missing value at position " + start);
+            return literal.equals("null") ? null : literal;
+        }
+
+        String readString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = peek();
+                pos++;
+                if (c == '"') return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char e = peek();
+                pos++;
+                switch (e) {
+                    case '"', '\\', '/' -> sb.append(e);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > s.length()) throw new IllegalArgumentException("Bad \\u escape");
+                        sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> throw new IllegalArgumentException("Bad escape \\" + e);
+                }
+            }
+        }
+    }
+}
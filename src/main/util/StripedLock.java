@@ -0,0 +1,66 @@
+package main.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * StripedLock - A fixed set of locks shared out by key
+ *
+ * RESPONSIBILITIES:
+ *  - Serialize all work done under the same key (e.g. one student's operations)
+ *  - Let work under different keys run in parallel, without one lock object per key
+ *
+ * Keys are case-insensitive. Two different keys may share a stripe and then wait
+ * for each other; more stripes make that rarer. A StripedLock with one stripe is
+ * a single global lock.
+ */
+public class StripedLock {
+
+    public static final int DEFAULT_STRIPES = 64;
+
+    private final ReentrantLock[] stripes;
+
+    public StripedLock() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /** @param stripes number of locks, rounded up to a power of two */
+    public StripedLock(int stripes) {
+        int n = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        if (stripes <= 1) n = 1;
+        this.stripes = new ReentrantLock[n];
+        for (int i = 0; i < n; i++) this.stripes[i] = new ReentrantLock();
+    }
+
+    /** Runs the action holding the lock for the key */
+    public void run(String key, Runnable action) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Computes a value holding the lock for the key */
+    public <T> T call(String key, Supplier<T> action) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    private ReentrantLock lockFor(String key) {
+        int h = key == null ? 0 : key.trim().toLowerCase().hashCode();
+        h ^= (h >>> 16); // spread high bits, as HashMap does
+        return stripes[h & (stripes.length - 1)];
+    }
+}